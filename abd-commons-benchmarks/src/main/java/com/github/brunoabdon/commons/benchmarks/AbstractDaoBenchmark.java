@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.brunoabdon.commons.dal.AbstractDao;
+import com.github.brunoabdon.commons.dal.DalException;
+import com.github.brunoabdon.commons.dal.EntityNotFoundException;
+
+/**
+ * {@link AbstractDao#find(Object)} contra um H2 em memória: com a entidade
+ * já no contexto de persistência, buscando no banco e pra uma chave que 
+ * não existe.
+ * 
+ * @author Bruno Abdon
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AbstractDaoBenchmark {
+
+    private static final int QUANTIDADE = 1000;
+    
+    private EntityManagerFactory emf;
+    
+    private EntityManager em;
+    
+    private CoisaDao dao;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        emf = Persistence.createEntityManagerFactory("benchmarks");
+        em = emf.createEntityManager();
+        
+        em.getTransaction().begin();
+        for (int i = 0; i < QUANTIDADE; i++) {
+            final Coisa coisa = new Coisa();
+            coisa.setNome("coisa " + i);
+            em.persist(coisa);
+        }
+        em.getTransaction().commit();
+        
+        dao = new CoisaDao(em);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        em.close();
+        emf.close();
+    }
+
+    @Benchmark
+    public Coisa findEmMemoria() throws DalException {
+        return dao.find(1);
+    }
+
+    @Benchmark
+    public Coisa findNoBanco() throws DalException {
+        em.clear();
+        return dao.find(1 + ThreadLocalRandom.current().nextInt(QUANTIDADE));
+    }
+
+    @Benchmark
+    public Object findAusente() throws DalException {
+        try {
+            return dao.find(-1);
+        } catch (final EntityNotFoundException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.benchmarks;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.brunoabdon.commons.rest.RepositorioTokens;
+import com.github.brunoabdon.commons.rest.RepositorioTokensMemoria;
+import com.github.brunoabdon.commons.rest.TokensAssinados;
+
+/**
+ * A validação de tokens ({@link RepositorioTokens#isValido(String)}, que é
+ * o que o {@code Auth} chama em toda requisição) com várias threads ao 
+ * mesmo tempo, pra cada repositório. Usa o repositório direto, sem passar 
+ * pelo {@code Auth}, cuja instância depende das variáveis de ambiente.
+ * 
+ * @author Bruno Abdon
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AuthBenchmark {
+
+    @Param({"memoria", "assinados"})
+    private String repositorio;
+    
+    private RepositorioTokens tokens;
+    
+    private String token;
+
+    @Setup
+    public void setup() {
+        
+        tokens = 
+            repositorio.equals("memoria")
+                ? new RepositorioTokensMemoria(
+                    Duration.ofHours(1), Duration.ofHours(1), 10000)
+                : new TokensAssinados(
+                    Collections.singletonMap(
+                        "k1", "segredo-do-benchmark".getBytes()), 
+                    "k1", 
+                    Duration.ofHours(1), 
+                    1000);
+        
+        //outros tokens, pro mapa nao ficar trivial
+        for (int i = 0; i < 1000; i++) {
+            tokens.emitir();
+        }
+        token = tokens.emitir();
+    }
+
+    @Benchmark
+    public boolean isValidValido() {
+        return tokens.isValido(token);
+    }
+
+    @Benchmark
+    public boolean isValidInvalido() {
+        return tokens.isValido("token-que-nao-existe");
+    }
+}
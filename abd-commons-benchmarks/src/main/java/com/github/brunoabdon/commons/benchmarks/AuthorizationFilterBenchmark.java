@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.benchmarks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.container.ContainerRequestContext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.brunoabdon.commons.rest.Auth;
+import com.github.brunoabdon.commons.rest.AuthorizationFilter;
+import com.github.brunoabdon.commons.rest.RepositorioTokens;
+import com.github.brunoabdon.commons.rest.RepositorioTokensMemoria;
+
+/**
+ * {@link AuthorizationFilter#filter(ContainerRequestContext)} pra um 
+ * caminho {@link AuthorizationFilter#PROPRIEDADE_CAMINHOS_PUBLICOS 
+ * configurado} como público, uma requisição com token válido e uma sem 
+ * token.
+ * 
+ * @author Bruno Abdon
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AuthorizationFilterBenchmark {
+
+    private static final String HEADER_TOKEN = "X-Abd-auth_token";
+    
+    private AuthorizationFilter filtro;
+    
+    private ContainerRequestContext publico, autorizado, naoAutorizado;
+
+    @Setup
+    public void setup() {
+        
+        final RepositorioTokens tokens = 
+            new RepositorioTokensMemoria(
+                Duration.ofHours(1), Duration.ofHours(1), 10000);
+        
+        Auth.getInstance().setRepositorioTokens(tokens);
+        
+        System.setProperty(
+            AuthorizationFilter.PROPRIEDADE_CAMINHOS_PUBLICOS, "status");
+        
+        filtro = new AuthorizationFilter();
+        
+        publico = 
+            Proxies.requestContext("HEAD", "status", Collections.emptyMap());
+        
+        autorizado = 
+            Proxies.requestContext(
+                "GET", 
+                "coisas/42", 
+                Collections.singletonMap(HEADER_TOKEN, tokens.emitir()));
+        
+        naoAutorizado = 
+            Proxies.requestContext(
+                "GET", "coisas/42", Collections.emptyMap());
+    }
+
+    @Benchmark
+    public void caminhoPublico() throws IOException {
+        filtro.filter(publico);
+    }
+
+    @Benchmark
+    public void tokenValido() throws IOException {
+        filtro.filter(autorizado);
+    }
+
+    @Benchmark
+    public void semToken() throws IOException {
+        filtro.filter(naoAutorizado);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.benchmarks;
+
+import javax.persistence.Entity;
+import javax.persistence.Version;
+
+import com.github.brunoabdon.commons.modelo.EntidadeBaseInt;
+import com.github.brunoabdon.commons.modelo.Versionada;
+
+/**
+ * Entidade usada nos benchmarks.
+ * 
+ * @author Bruno Abdon
+ */
+@Entity
+public class Coisa extends EntidadeBaseInt implements Versionada {
+
+    private static final long serialVersionUID = 1L;
+
+    private String nome;
+
+    @Version
+    private Integer versao;
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(final String nome) {
+        this.nome = nome;
+    }
+
+    @Override
+    public Integer getVersao() {
+        return versao;
+    }
+
+    public void setVersao(final Integer versao) {
+        this.versao = versao;
+    }
+}
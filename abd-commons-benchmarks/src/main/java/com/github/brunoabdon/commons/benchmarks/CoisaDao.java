@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.benchmarks;
+
+import javax.persistence.EntityManager;
+
+import com.github.brunoabdon.commons.dal.AbstractDao;
+
+/**
+ * Dao de {@link Coisa}, com o {@link EntityManager} passado na mão, sem 
+ * container.
+ * 
+ * @author Bruno Abdon
+ */
+public final class CoisaDao extends AbstractDao<Coisa,Integer> {
+
+    public CoisaDao(final EntityManager em) {
+        super(Coisa.class);
+        setEntityManager(em);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.benchmarks;
+
+import java.lang.annotation.Annotation;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.ext.ParamConverter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.brunoabdon.commons.rest.paramconverters.TemporalParamConverterProvider;
+
+/**
+ * Busca e uso dos conversores de {@link TemporalParamConverterProvider}.
+ * 
+ * @author Bruno Abdon
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParamConvertersBenchmark {
+
+    private static final Annotation[] SEM_ANOTACOES = new Annotation[0];
+    
+    private TemporalParamConverterProvider provider;
+    
+    private ParamConverter<LocalDate> localDate;
+    
+    private ParamConverter<YearMonth> yearMonth;
+
+    @Setup
+    public void setup() {
+        provider = new TemporalParamConverterProvider();
+        localDate = 
+            provider.getConverter(
+                LocalDate.class, LocalDate.class, SEM_ANOTACOES);
+        yearMonth = 
+            provider.getConverter(
+                YearMonth.class, YearMonth.class, SEM_ANOTACOES);
+    }
+
+    @Benchmark
+    public ParamConverter<LocalDate> getConverterLocalDate() {
+        return provider.getConverter(
+                LocalDate.class, LocalDate.class, SEM_ANOTACOES);
+    }
+
+    @Benchmark
+    public ParamConverter<String> getConverterOutroTipo() {
+        return provider.getConverter(
+                String.class, String.class, SEM_ANOTACOES);
+    }
+
+    @Benchmark
+    public LocalDate fromStringLocalDate() {
+        return localDate.fromString("2024-02-29");
+    }
+
+    @Benchmark
+    public YearMonth fromStringYearMonth() {
+        return yearMonth.fromString("2024-02");
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.UriInfo;
+
+/**
+ * Implementações mínimas das interfaces JAX-RS usadas nos benchmarks, sem 
+ * precisar subir um servidor.
+ * 
+ * @author Bruno Abdon
+ */
+final class Proxies {
+
+    private Proxies() {
+    }
+
+    /**
+     * @param headers os headers da requisição.
+     * @return {@link HttpHeaders} que só responde 
+     * {@link HttpHeaders#getHeaderString(String) getHeaderString}.
+     */
+    static HttpHeaders httpHeaders(final Map<String,String> headers) {
+        return proxy(HttpHeaders.class, (metodo, args) -> 
+            metodo.equals("getHeaderString") ? headers.get(args[0]) : null);
+    }
+
+    /**
+     * @param metodo o método HTTP.
+     * @param caminho o caminho da requisição.
+     * @param headers os headers da requisição.
+     * @return um {@link ContainerRequestContext} com o método, o caminho e 
+     * os headers dados, que ignora o 
+     * {@link ContainerRequestContext#abortWith(javax.ws.rs.core.Response) 
+     * abortWith}.
+     */
+    static ContainerRequestContext requestContext(
+            final String metodo,
+            final String caminho, 
+            final Map<String,String> headers) {
+        
+        final UriInfo uriInfo = 
+            proxy(UriInfo.class, (m, args) -> 
+                m.equals("getPath") ? caminho : null);
+        
+        final Request request = 
+            proxy(Request.class, (m, args) -> 
+                m.equals("getMethod") ? metodo : null);
+        
+        return proxy(ContainerRequestContext.class, (m, args) -> {
+            switch (m) {
+                case "getUriInfo": return uriInfo;
+                case "getRequest": return request;
+                case "getMethod": return metodo;
+                case "getHeaderString": return headers.get(args[0]);
+                default: return null;
+            }
+        });
+    }
+
+    private interface Tratador {
+        Object tratar(String metodo, Object[] args);
+    }
+
+    private static <T> T proxy(final Class<T> tipo, final Tratador tratador) {
+        return tipo.cast(
+            Proxy.newProxyInstance(
+                Proxies.class.getClassLoader(), 
+                new Class<?>[]{tipo}, 
+                (proxy, metodo, args) -> 
+                    tratador.tratar(metodo.getName(), args)));
+    }
+}
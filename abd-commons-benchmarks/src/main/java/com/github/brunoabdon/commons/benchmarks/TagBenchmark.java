@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.brunoabdon.commons.rest.RestServiceUtils;
+import com.github.brunoabdon.commons.rest.TagPorHash;
+import com.github.brunoabdon.commons.rest.TagPorVersao;
+
+/**
+ * Geração de ETags: o {@code HashCodeBuilder} de {@link TagPorHash} e as 
+ * versões de {@link TagPorVersao}, pra uma entidade e pra listas.
+ * 
+ * @author Bruno Abdon
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TagBenchmark {
+
+    @Param({"10", "1000"})
+    private int tamanhoLista;
+    
+    private HttpHeaders headers;
+    
+    private Coisa coisa;
+    
+    private List<Coisa> coisas;
+
+    @Setup
+    public void setup() {
+        headers = 
+            Proxies.httpHeaders(
+                Collections.singletonMap(
+                    HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON));
+        
+        coisas = new ArrayList<>(tamanhoLista);
+        for (int i = 0; i < tamanhoLista; i++) {
+            final Coisa c = new Coisa();
+            c.setId(i);
+            c.setNome("coisa " + i);
+            c.setVersao(i % 7);
+            coisas.add(c);
+        }
+        coisa = coisas.get(0);
+    }
+
+    @Benchmark
+    public EntityTag makeTag() {
+        return RestServiceUtils.makeTag(coisa, headers);
+    }
+
+    @Benchmark
+    public EntityTag tagPorHash() {
+        return TagPorHash.INSTANCE.makeTag(coisa, headers);
+    }
+
+    @Benchmark
+    public EntityTag tagPorHashLista() {
+        return TagPorHash.INSTANCE.makeTag(coisas, headers);
+    }
+
+    @Benchmark
+    public EntityTag tagPorVersaoLista() {
+        return TagPorVersao.INSTANCE.makeTag(coisas, headers);
+    }
+}
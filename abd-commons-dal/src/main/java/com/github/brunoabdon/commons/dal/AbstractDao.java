@@ -16,14 +16,55 @@
  */
 package com.github.brunoabdon.commons.dal;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.persistence.metamodel.Type;
 
+import com.github.brunoabdon.commons.modelo.Versionada;
+
+import com.github.brunoabdon.commons.util.metricas.Metricas;
 import com.github.brunoabdon.commons.util.modelo.Identifiable;
 
 /**
+ * Implementação JPA de {@link Dao}.
+ * 
+ * <p>As operações {@link #find(Object) find}, {@link #criar(Identifiable) 
+ * criar}, {@link #atualizar(Object, Identifiable) atualizar}, 
+ * {@link #upsert(Object, Identifiable) upsert} e 
+ * {@link #deletar(Object) deletar} são registradas nas 
+ * {@link #getMetricas() métricas}, com o nome simples da classe da entidade
+ * e o resultado ({@link Metricas#OK}, {@link Metricas#NAO_ENCONTRADO}, 
+ * {@link Metricas#CONFLITO} pras outras {@link DalException}s e pras 
+ * {@link PersistenceException}s, ou {@link Metricas#ERRO}). Cada chamada é
+ * contada uma vez só, sem as buscas e criações feitas por dentro dela. O 
+ * tempo é o gasto dentro da chamada ao dao: as escritas não sofrem 
+ * {@link EntityManager#flush() flush} por causa da medição, e o SQL que o
+ * provedor adiar pro flush ou pro commit fica de fora (o tempo com o commit
+ * é o medido nos resources).</p>
  *
  * @author Bruno Abdon
  * @param <E> o tipo da entidade persistida
@@ -34,6 +75,34 @@ public abstract class AbstractDao<E extends Identifiable<K>,K>
 
     private static final Logger LOG = 
         Logger.getLogger(AbstractDao.class.getName());
+
+    /**
+     * Quantidade máxima de chaves por consulta {@code IN} em 
+     * {@link #findAll(Collection)}.
+     */
+    protected static final int TAMANHO_LOTE_BUSCA = 500;
+
+    /**
+     * Quantidade de entidades entre cada {@link EntityManager#flush() flush} 
+     * e {@link EntityManager#clear() clear} nas operações em lote. Deve 
+     * acompanhar o tamanho do batch JDBC configurado no provedor (por 
+     * exemplo, {@code hibernate.jdbc.batch_size}). Entidades com id 
+     * {@link javax.persistence.GenerationType#IDENTITY IDENTITY} (como as 
+     * {@link com.github.brunoabdon.commons.modelo.EntidadeBaseInt 
+     * EntidadeBaseInt}) são inseridas uma a uma, sem batch JDBC.
+     */
+    protected static final int TAMANHO_LOTE_ESCRITA = 50;
+
+    protected static final String ERRO_LOTE = 
+        "com.github.brunoabdon.commons.dal.ERRO_LOTE";
+
+    private static final String OPERACAO_FIND = "find";
+    private static final String OPERACAO_CRIAR = "criar";
+    private static final String OPERACAO_ATUALIZAR = "atualizar";
+    private static final String OPERACAO_DELETAR = "deletar";
+    private static final String OPERACAO_UPSERT = "upsert";
+    private static final String OPERACAO_ATUALIZAR_PROPRIEDADES = 
+        "atualizarPropriedades";
     
     @PersistenceContext
     private EntityManager em;
@@ -46,42 +115,762 @@ public abstract class AbstractDao<E extends Identifiable<K>,K>
 
     @Override
     public E find(final K key) throws DalException {
+        return medir(OPERACAO_FIND, () -> buscar(key));
+    }
+
+    private E buscar(final K key) throws DalException {
         final E entity = em.find(klass, key);
         if(entity == null){
-            throw new EntityNotFoundException(key);
+            throw EntityNotFoundException.semStackTrace(key);
         }
         return entity;
     }
 
+    @Override
+    public Optional<E> findOptional(final K key) throws DalException {
+        return Optional.ofNullable(em.find(klass, key));
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>Se a entidade {@link #estaEmMemoria(Object) já estiver em memória}
+     * (ou tiver {@link #isChaveSimples() chave composta}) e for 
+     * {@link Versionada}, a versão vem dela. Senão, só a coluna anotada com
+     * {@link javax.persistence.Version @Version} é buscada no banco. 
+     * Entidades que não são {@link Versionada} ou não têm {@code @Version} 
+     * dão {@code null}, estejam carregadas ou não.</p>
+     */
+    @Override
+    public Object findVersao(final K key) throws DalException {
+        
+        if(estaEmMemoria(key) || !isChaveSimples()){
+            final E entity = find(key);
+            return entity instanceof Versionada 
+                    ? ((Versionada) entity).getVersao() 
+                    : null;
+        }
+        
+        final String nomeVersao = getNomeAtributoVersao();
+        
+        //mesma regra de quando a entidade esta carregada (e de TagPorVersao)
+        if(nomeVersao == null || !Versionada.class.isAssignableFrom(klass)){
+            return null;
+        }
+        
+        final List<?> versoes = 
+            em.createQuery(
+                    "SELECT e." + nomeVersao 
+                    + " FROM " + getNomeEntidade() + " e "
+                    + "WHERE e." + getNomeAtributoId() + " = :id")
+              .setParameter("id", key)
+              .getResultList();
+        
+        if(versoes.isEmpty()){
+            throw EntityNotFoundException.semStackTrace(key);
+        }
+        
+        return versoes.get(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>As chaves que {@link #estaEmMemoria(Object) já estão em memória} são
+     * resolvidas com {@link EntityManager#find(Class, Object)}. As outras são
+     * buscadas com consultas {@code IN}, com no máximo 
+     * {@link #getTamanhoLoteBusca()} chaves cada. Entidades com 
+     * {@link #isChaveSimples() chave composta} são todas buscadas com 
+     * {@link EntityManager#find(Class, Object)}.</p>
+     */
+    @Override
+    public ResultadoBusca<E,K> findAll(final Collection<K> keys) 
+            throws DalException {
+        
+        final Set<K> distinctKeys = new LinkedHashSet<>(keys);
+        
+        final Map<K,E> encontradas = new HashMap<>(distinctKeys.size() * 2);
+        final List<K> pendentes = new ArrayList<>(distinctKeys.size());
+        
+        final boolean chaveSimples = isChaveSimples();
+        
+        for (final K key : distinctKeys) {
+            if(!chaveSimples || estaEmMemoria(key)){
+                final E entity = em.find(klass, key);
+                if(entity != null){
+                    encontradas.put(key, entity);
+                }
+            } else {
+                pendentes.add(key);
+            }
+        }
+
+        if(!pendentes.isEmpty()){
+            final String jpql = 
+                "SELECT e FROM " + getNomeEntidade() + " e "
+                + "WHERE e." + getNomeAtributoId() + " IN :ids";
+            
+            final int tamanhoLote = getTamanhoLoteBusca();
+            
+            for (int i = 0; i < pendentes.size(); i += tamanhoLote) {
+                final List<K> lote = 
+                    pendentes.subList(
+                        i, Math.min(i + tamanhoLote, pendentes.size()));
+
+                LOG.finest(() -> "Buscando lote de " + lote.size() + " ids");
+                
+                em.createQuery(jpql, klass)
+                  .setParameter("ids", lote)
+                  .getResultList()
+                  .forEach(entity -> encontradas.put(entity.getId(), entity));
+            }
+        }
+        
+        final List<E> entities = new ArrayList<>(encontradas.size());
+        final List<K> missingKeys = new ArrayList<>();
+        
+        for (final K key : distinctKeys) {
+            final E entity = encontradas.get(key);
+            if(entity == null){
+                missingKeys.add(key);
+            } else {
+                entities.add(entity);
+            }
+        }
+        
+        return new ResultadoBusca<>(entities, missingKeys);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>Precisa de um índice na chave (normalmente a chave primária) pra 
+     * que cada página seja uma busca no índice. Entidades com 
+     * {@link #isChaveSimples() chave composta} não podem ser listadas.</p>
+     */
+    @Override
+    public List<E> listar(final K after, final int limit, final Ordem ordem) 
+            throws DalException {
+        
+        final String nomeId = getNomeAtributoId();
+        
+        final StringBuilder jpql = 
+            new StringBuilder("SELECT e FROM ")
+                .append(getNomeEntidade())
+                .append(" e");
+        
+        if(after != null){
+            jpql.append(" WHERE e.").append(nomeId)
+                .append(' ').append(ordem.getComparador()).append(" :after");
+        }
+        
+        jpql.append(" ORDER BY e.").append(nomeId)
+            .append(' ').append(ordem.getJpql());
+        
+        final TypedQuery<E> query = 
+            em.createQuery(jpql.toString(), klass).setMaxResults(limit);
+        
+        if(after != null){
+            query.setParameter("after", after);
+        }
+        
+        return query.getResultList();
+    }
+
+    /**
+     * Diz se a entidade com a chave dada pode ser obtida sem ida ao banco: 
+     * se ela já está carregada no contexto de persistência desta 
+     * requisição, ou no cache de segundo nível.
+     * 
+     * <p>O contexto de persistência é consultado com 
+     * {@link EntityManager#getReference(Class, Object)} e 
+     * {@link PersistenceUnitUtil#isLoaded(Object)}. Com provedores que 
+     * devolvem um proxy (como o Hibernate), isso não vai ao banco, mas o 
+     * proxy de uma entidade que não estava no contexto fica nele, e é o 
+     * que a busca seguinte devolve. Provedores em que 
+     * {@code getReference} vai ao banco devem sobrescrever este método.
+     * </p>
+     * 
+     * @param key a chave da entidade.
+     * @return se a entidade já está em memória.
+     */
+    protected boolean estaEmMemoria(final K key) {
+        final EntityManagerFactory emf = em.getEntityManagerFactory();
+        
+        boolean noContexto;
+        try {
+            noContexto = 
+                emf.getPersistenceUnitUtil()
+                    .isLoaded(em.getReference(klass, key));
+        } catch (final PersistenceException | IllegalArgumentException e) {
+            noContexto = false;
+        }
+        
+        return noContexto || emf.getCache().contains(klass, key);
+    }
+
+    protected int getTamanhoLoteBusca() {
+        return TAMANHO_LOTE_BUSCA;
+    }
+
+    protected String getNomeEntidade() {
+        return em.getMetamodel().entity(klass).getName();
+    }
+
+    /**
+     * Diz se a chave da entidade é um único atributo básico, que pode ser 
+     * usado em consultas {@code IN} e {@code ORDER BY}. Não é o caso das 
+     * chaves compostas, com {@link javax.persistence.IdClass @IdClass} ou 
+     * {@link javax.persistence.EmbeddedId @EmbeddedId}.
+     * 
+     * @return se a chave é simples.
+     */
+    protected boolean isChaveSimples() {
+        final EntityType<E> entityType = em.getMetamodel().entity(klass);
+        return entityType.hasSingleIdAttribute()
+                && entityType.getIdType().getPersistenceType() 
+                    == Type.PersistenceType.BASIC;
+    }
+
+    /**
+     * O nome do atributo da chave.
+     * 
+     * @return o nome do atributo da chave.
+     * @throws UnsupportedOperationException se a chave não for 
+     * {@link #isChaveSimples() simples}.
+     */
+    protected String getNomeAtributoId() {
+        if(!isChaveSimples()){
+            throw new UnsupportedOperationException(
+                "Chave composta em " + klass.getSimpleName());
+        }
+        final EntityType<E> entityType = em.getMetamodel().entity(klass);
+        return entityType.getId(entityType.getIdType().getJavaType()).getName();
+    }
+
+    /**
+     * O nome do atributo anotado com 
+     * {@link javax.persistence.Version @Version}, se houver.
+     * 
+     * @return o nome do atributo de versão ou {@code null}.
+     */
+    protected String getNomeAtributoVersao() {
+        final EntityType<E> entityType = em.getMetamodel().entity(klass);
+        
+        return entityType.hasVersionAttribute()
+                ? entityType
+                    .getSingularAttributes()
+                    .stream()
+                    .filter(SingularAttribute::isVersion)
+                    .map(Attribute::getName)
+                    .findFirst()
+                    .orElse(null)
+                : null;
+    }
+
     @Override
     public void criar(final E entity) throws DalException {
         LOG.finest(() -> "Criando " + entity);
+        medir(OPERACAO_CRIAR, () -> {
+            persistir(entity);
+            return null;
+        });
+    }
+
+    private void persistir(final E entity) throws DalException {
         validarPraCriacao(entity);
         em.persist(entity);
     }
 
     @Override
     public E atualizar(final K key, final E entity) throws DalException {
+        return medir(OPERACAO_ATUALIZAR, () -> {
+        
+            validarPraAtualizacao(key,entity);
+            
+            final E persistedEntity = buscar(key);
+            
+            atualizarEntity(entity,persistedEntity);
+            
+            return persistedEntity;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>A entidade é buscada uma vez só, com 
+     * {@link EntityManager#find(Class, Object)}. Se existir, é atualizada 
+     * como em {@link #atualizar(Object, Identifiable) atualizar}, sem outra 
+     * busca. Se não, é {@link #criar(Identifiable) criada}.</p>
+     */
+    @Override
+    public ResultadoUpsert<E> upsert(final K key, final E entity) 
+            throws DalException {
+        return medir(OPERACAO_UPSERT, () -> {
+            
+            final E persistedEntity = em.find(klass, key);
+            
+            final ResultadoUpsert<E> resultado;
+            
+            if(persistedEntity == null){
+                persistir(entity);
+                resultado = ResultadoUpsert.criada(entity);
+            } else {
+                validarPraAtualizacao(key, entity);
+                atualizarEntity(entity, persistedEntity);
+                resultado = ResultadoUpsert.atualizada(persistedEntity);
+            }
+            
+            return resultado;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>O {@link EntityManager} sofre {@link EntityManager#flush() flush} e 
+     * {@link EntityManager#clear() clear} a cada 
+     * {@link #getTamanhoLoteEscrita()} entidades e no fim da operação, e os
+     * itens só entram no resultado depois do flush. Entidades carregadas 
+     * antes da chamada ficam desanexadas.</p>
+     * 
+     * @throws DalException com {@value #ERRO_LOTE} se um flush falhar (por 
+     * exemplo, por uma restrição do banco). A transação fica marcada pra 
+     * rollback, e nada do lote é gravado.
+     */
+    @Override
+    public ResultadoLote<K> criarTodos(final Collection<? extends E> entities)
+            throws DalException {
         
-        validarPraAtualizacao(key,entity);
+        LOG.finest(() -> "Criando lote de " + entities.size());
         
-        final E persistedEntity = find(key);
+        final ResultadoLote<K> resultado = new ResultadoLote<>();
         
-        atualizarEntity(entity,persistedEntity);
+        final List<Consumer<ResultadoLote<K>>> pendentes = new ArrayList<>();
         
-        return persistedEntity;
+        final int tamanhoLote = getTamanhoLoteEscrita();
+        
+        int indice = 0;
+        
+        for (final E entity : entities) {
+            final int i = indice++;
+            try {
+                persistir(entity);
+                pendentes.add(r -> r.ok(i, entity.getId()));
+            } catch (final DalException e) {
+                pendentes.add(r -> r.falha(i, entity.getId(), e));
+            } catch (final PersistenceException e) {
+                throw new DalException(e, ERRO_LOTE);
+            }
+            if(pendentes.size() == tamanhoLote){
+                descarregar(pendentes, resultado);
+            }
+        }
+        
+        descarregar(pendentes, resultado);
+        
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>As entidades persistidas são carregadas com 
+     * {@link #findAll(Collection)}, {@link #getTamanhoLoteEscrita()} por vez,
+     * e o {@link EntityManager} sofre {@link EntityManager#flush() flush} e 
+     * {@link EntityManager#clear() clear} depois de cada lote. Os itens só 
+     * entram no resultado depois do flush. Entidades carregadas antes da 
+     * chamada ficam desanexadas.</p>
+     * 
+     * @throws DalException com {@value #ERRO_LOTE} se um flush falhar. A 
+     * transação fica marcada pra rollback, e nada do lote é gravado.
+     */
+    @Override
+    public ResultadoLote<K> atualizarTodos(final Map<K,E> entities) 
+            throws DalException {
+
+        LOG.finest(() -> "Atualizando lote de " + entities.size());
+        
+        final ResultadoLote<K> resultado = new ResultadoLote<>();
+        
+        final List<Consumer<ResultadoLote<K>>> pendentes = new ArrayList<>();
+        
+        final List<Map.Entry<K,E>> entries = 
+            new ArrayList<>(entities.entrySet());
+        
+        final int tamanhoLote = getTamanhoLoteEscrita();
+        
+        for (int i = 0; i < entries.size(); i += tamanhoLote) {
+            final List<Map.Entry<K,E>> lote = 
+                entries.subList(i, Math.min(i + tamanhoLote, entries.size()));
+            
+            final Map<K,E> persistidas = carregar(lote, Map.Entry::getKey);
+            
+            int indice = i;
+            for (final Map.Entry<K,E> entry : lote) {
+                final int posicao = indice++;
+                final K key = entry.getKey();
+                final E persistedEntity = persistidas.get(key);
+                if(persistedEntity == null){
+                    pendentes.add(r -> r.naoEncontrado(posicao, key));
+                } else {
+                    try {
+                        validarPraAtualizacao(key, entry.getValue());
+                        atualizarEntity(entry.getValue(), persistedEntity);
+                        pendentes.add(r -> r.ok(posicao, key));
+                    } catch (final DalException e) {
+                        pendentes.add(r -> r.falha(posicao, key, e));
+                    }
+                }
+            }
+            
+            descarregar(pendentes, resultado);
+        }
+        
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>Só as propriedades 
+     * {@link #getPropriedadesAtualizaveisParcialmente() liberadas} pela 
+     * subclasse podem ser atualizadas (por padrão, nenhuma). Elas são 
+     * copiadas uma a uma pra entidade persistida, que é 
+     * {@link #validarPraAtualizacao(Object, Identifiable) validada} depois 
+     * da cópia (e {@link EntityManager#refresh(Object) recarregada} se não 
+     * passar). O id e a versão são ignorados. Uma associação liberada 
+     * recebe uma {@link EntityManager#getReference(Class, Object) 
+     * referência} à entidade com o id do valor dado, e não o próprio valor.
+     * Com o <i>dynamic update</i> do provedor (por exemplo, 
+     * {@code @org.hibernate.annotations.DynamicUpdate}), o {@code UPDATE} 
+     * só inclui as colunas que mudaram.</p>
+     */
+    @Override
+    public E atualizarPropriedades(
+            final K key, 
+            final E entity, 
+            final Set<String> propriedades) throws DalException {
+        
+        return medir(OPERACAO_ATUALIZAR_PROPRIEDADES, () -> {
+            
+            final Set<String> liberadas = 
+                getPropriedadesAtualizaveisParcialmente();
+            
+            final Map<String,SingularAttribute<? super E,?>> singulares = 
+                getAtributosSingulares();
+            
+            final List<SingularAttribute<? super E,?>> atributos = 
+                new ArrayList<>(propriedades.size());
+            
+            for (final String propriedade : propriedades) {
+                final SingularAttribute<? super E,?> atributo = 
+                    singulares.get(propriedade);
+                if(atributo != null 
+                        && (atributo.isId() || atributo.isVersion())){
+                    continue;
+                }
+                if(atributo == null || !liberadas.contains(propriedade)){
+                    throw new DalException(
+                        "com.github.brunoabdon.commons.dal"
+                        + ".PROPRIEDADE_NAO_ATUALIZAVEL", 
+                        propriedade);
+                }
+                atributos.add(atributo);
+            }
+            
+            final E persistedEntity = buscar(key);
+            
+            copiar(entity, persistedEntity, atributos);
+            
+            try {
+                validarPraAtualizacao(key, persistedEntity);
+            } catch (final DalException e) {
+                em.refresh(persistedEntity);
+                throw e;
+            }
+            
+            return persistedEntity;
+        });
+    }
+
+    /**
+     * Os nomes das propriedades que podem ser atualizadas por 
+     * {@link #atualizarPropriedades(Object, Identifiable, Set)}. Por padrão,
+     * nenhuma. Subclasses que suportarem atualização parcial devem 
+     * sobrescrever este método, listando só os atributos simples (não 
+     * coleções) que o cliente pode mudar.
+     * 
+     * @return os nomes das propriedades atualizáveis parcialmente.
+     */
+    protected Set<String> getPropriedadesAtualizaveisParcialmente() {
+        return Collections.emptySet();
     }
 
+    /**
+     * Copia os dados de uma entidade pra entidade persistida, em 
+     * {@link #atualizar(Object, Identifiable) atualizar}. Por padrão, levanta
+     * {@link UnsupportedOperationException}. Subclasses que suportarem 
+     * atualização devem sobrescrever este método, e podem usar 
+     * {@link #copiarAtributosSimples(Object, Object)} pros atributos 
+     * básicos.
+     * 
+     * @param source a entidade com os novos dados.
+     * @param dest a entidade persistida.
+     */
     protected void atualizarEntity(final E source, final E dest) {
         throw new UnsupportedOperationException("Atualzação não suportada.");
     };
 
+    /**
+     * Copia todos os atributos básicos (nem associações, nem embutidos, nem
+     * coleções) do metamodelo JPA de uma entidade pra outra, menos o id e a 
+     * versão. Os atributos com valor {@code null} em {@code source} ficam 
+     * {@code null} em {@code dest}.
+     * 
+     * @param source a entidade com os novos dados.
+     * @param dest a entidade persistida.
+     */
+    protected void copiarAtributosSimples(final E source, final E dest) {
+        final List<SingularAttribute<? super E,?>> basicos = new ArrayList<>();
+        for (final SingularAttribute<? super E,?> atributo 
+                : getAtributosSingulares().values()) {
+            if(!atributo.isId() 
+                    && !atributo.isVersion()
+                    && atributo.getPersistentAttributeType() 
+                        == Attribute.PersistentAttributeType.BASIC){
+                basicos.add(atributo);
+            }
+        }
+        copiar(source, dest, basicos);
+    }
+
+    /**
+     * Os atributos simples (não coleções) da entidade, pelo nome, incluindo
+     * os de id (vários, com {@code @IdClass}) e o de versão.
+     */
+    private Map<String,SingularAttribute<? super E,?>> 
+            getAtributosSingulares() {
+        
+        final Map<String,SingularAttribute<? super E,?>> atributos = 
+            new HashMap<>();
+        
+        for (final SingularAttribute<? super E,?> atributo 
+                : em.getMetamodel().entity(klass).getSingularAttributes()) {
+            atributos.put(atributo.getName(), atributo);
+        }
+        return atributos;
+    }
+
+    private void copiar(
+            final E source, 
+            final E dest, 
+            final Collection<SingularAttribute<? super E,?>> atributos) {
+        
+        for (final SingularAttribute<? super E,?> atributo : atributos) {
+            final Member membro = atributo.getJavaMember();
+            try {
+                if(membro instanceof Field){
+                    final Field campo = (Field) membro;
+                    campo.setAccessible(true);
+                    campo.set(dest, referenciar(atributo, campo.get(source)));
+                } else {
+                    final Method getter = (Method) membro;
+                    final String nome = atributo.getName();
+                    final Method setter = 
+                        getter.getDeclaringClass().getDeclaredMethod(
+                            "set" 
+                            + Character.toUpperCase(nome.charAt(0)) 
+                            + nome.substring(1), 
+                            atributo.getJavaType());
+                    getter.setAccessible(true);
+                    setter.setAccessible(true);
+                    setter.invoke(
+                        dest, referenciar(atributo, getter.invoke(source)));
+                }
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalStateException(
+                    "Não deu pra copiar " + atributo.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Troca o valor de uma associação, que pode estar desanexado ou ser 
+     * transiente, por uma referência gerenciada à entidade com o mesmo id.
+     */
+    private Object referenciar(
+            final SingularAttribute<? super E,?> atributo, 
+            final Object valor) {
+        
+        if(valor == null || !atributo.isAssociation()){
+            return valor;
+        }
+        
+        final Object id = 
+            em.getEntityManagerFactory()
+                .getPersistenceUnitUtil()
+                .getIdentifier(valor);
+        
+        return em.getReference(atributo.getJavaType(), id);
+    }
+
     @Override
     public void deletar(final K key) throws DalException {
         LOG.finest(() -> "Deletando id " + key);
-        final E entity = find(key);
-        prepararDelecao(entity);
-        em.remove(entity);
+        medir(OPERACAO_DELETAR, () -> {
+            final E entity = buscar(key);
+            prepararDelecao(entity);
+            em.remove(entity);
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>As entidades são carregadas com {@link #findAll(Collection)}, 
+     * {@link #getTamanhoLoteEscrita()} por vez, e o {@link EntityManager} 
+     * sofre {@link EntityManager#flush() flush} e 
+     * {@link EntityManager#clear() clear} depois de cada lote. Os itens só 
+     * entram no resultado depois do flush. Uma chave repetida é deletada 
+     * uma vez só, e as repetições ficam como 
+     * {@link ResultadoLote.Situacao#NAO_ENCONTRADO não encontradas}. 
+     * Entidades carregadas antes da chamada ficam desanexadas.</p>
+     * 
+     * @throws DalException com {@value #ERRO_LOTE} se um flush falhar. A 
+     * transação fica marcada pra rollback, e nada do lote é gravado.
+     */
+    @Override
+    public ResultadoLote<K> deletarTodos(final Collection<K> keys) 
+            throws DalException {
+
+        LOG.finest(() -> "Deletando lote de " + keys.size());
+        
+        final ResultadoLote<K> resultado = new ResultadoLote<>();
+        
+        final List<Consumer<ResultadoLote<K>>> pendentes = new ArrayList<>();
+        
+        final List<K> listaKeys = new ArrayList<>(keys);
+        
+        final Set<K> vistas = new HashSet<>(listaKeys.size() * 2);
+        
+        final int tamanhoLote = getTamanhoLoteEscrita();
+
+        for (int i = 0; i < listaKeys.size(); i += tamanhoLote) {
+            final List<K> lote = 
+                listaKeys.subList(
+                    i, Math.min(i + tamanhoLote, listaKeys.size()));
+
+            final Map<K,E> persistidas = carregar(lote, key -> key);
+            
+            int indice = i;
+            for (final K key : lote) {
+                final int posicao = indice++;
+                final E entity = vistas.add(key) ? persistidas.get(key) : null;
+                if(entity == null){
+                    pendentes.add(r -> r.naoEncontrado(posicao, key));
+                } else {
+                    try {
+                        prepararDelecao(entity);
+                        em.remove(entity);
+                        pendentes.add(r -> r.ok(posicao, key));
+                    } catch (final DalException e) {
+                        pendentes.add(r -> r.falha(posicao, key, e));
+                    }
+                }
+            }
+            
+            descarregar(pendentes, resultado);
+        }
+        
+        return resultado;
+    }
+
+    private <T> Map<K,E> carregar(
+            final List<T> itens, 
+            final Function<T,K> extratorChave) throws DalException {
+        
+        final List<K> keys = new ArrayList<>(itens.size());
+        itens.forEach(item -> keys.add(extratorChave.apply(item)));
+        
+        final Map<K,E> persistidas = new HashMap<>(keys.size() * 2);
+        findAll(keys)
+            .getEntidades()
+            .forEach(entity -> persistidas.put(entity.getId(), entity));
+        
+        return persistidas;
+    }
+
+    /**
+     * Manda pro banco as operações pendentes e esvazia o contexto de 
+     * persistência.
+     */
+    protected void descarregar() {
+        em.flush();
+        em.clear();
+    }
+
+    /**
+     * {@link #descarregar() Descarrega} as operações de uma parte de um lote
+     * e, se der certo, registra os itens dela no resultado.
+     */
+    private void descarregar(
+            final List<Consumer<ResultadoLote<K>>> pendentes,
+            final ResultadoLote<K> resultado) throws DalException {
+        try {
+            descarregar();
+        } catch (final PersistenceException e) {
+            throw new DalException(e, ERRO_LOTE);
+        }
+        pendentes.forEach(pendente -> pendente.accept(resultado));
+        pendentes.clear();
+    }
+
+    protected int getTamanhoLoteEscrita() {
+        return TAMANHO_LOTE_ESCRITA;
+    }
+
+    /**
+     * Executa uma operação, registrando nas {@link #getMetricas() métricas}
+     * quanto tempo a chamada levou e como terminou. Uma 
+     * {@link PersistenceException} levantada dentro dela, por uma restrição 
+     * do banco ou por uma versão desatualizada, conta como 
+     * {@link Metricas#CONFLITO}.
+     */
+    private <T> T medir(final String operacao, final Operacao<T> execucao) 
+            throws DalException {
+        
+        final long inicio = System.nanoTime();
+        String resultado = Metricas.ERRO;
+        try {
+            final T retorno = execucao.executar();
+            resultado = Metricas.OK;
+            return retorno;
+        } catch (final EntityNotFoundException e) {
+            resultado = Metricas.NAO_ENCONTRADO;
+            throw e;
+        } catch (final DalException | PersistenceException e) {
+            resultado = Metricas.CONFLITO;
+            throw e;
+        } finally {
+            getMetricas().registrar(
+                operacao, 
+                klass.getSimpleName(), 
+                resultado, 
+                System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Onde as operações deste dao são registradas. Por padrão, as 
+     * {@link Metricas#getInstalada() instaladas}.
+     * 
+     * @return as métricas.
+     */
+    protected Metricas getMetricas() {
+        return Metricas.getInstalada();
     }
 
     protected void validarPraCriacao(final E entity) throws DalException{
@@ -102,5 +891,20 @@ public abstract class AbstractDao<E extends Identifiable<K>,K>
     public EntityManager getEntityManager() {
         return this.em;
     }
+
+    /**
+     * Passa o {@link EntityManager} na mão, pra usar o dao fora de um 
+     * container que injete o {@link PersistenceContext}.
+     * 
+     * @param em o entity manager.
+     */
+    protected void setEntityManager(final EntityManager em) {
+        this.em = em;
+    }
+
+    @FunctionalInterface
+    private interface Operacao<T> {
+        T executar() throws DalException;
+    }
     
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.dal;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Executa ações depois que a transação JTA corrente terminar (com commit ou
+ * rollback). Sem transação, ou sem JTA no ambiente, a ação é executada na 
+ * hora.
+ * 
+ * @author Bruno Abdon
+ */
+final class AposTransacao {
+
+    private static final Logger LOG = 
+        Logger.getLogger(AposTransacao.class.getName());
+
+    private static final String JNDI_REGISTRO = 
+        "java:comp/TransactionSynchronizationRegistry";
+
+    private static volatile TransactionSynchronizationRegistry registro;
+    
+    private static volatile boolean procurado = false;
+
+    private AposTransacao() {
+    }
+
+    /**
+     * Agenda a ação pro fim da transação corrente, ou a executa agora se 
+     * não houver transação.
+     * 
+     * @param acao a ação.
+     */
+    static void executar(final Runnable acao) {
+        
+        final TransactionSynchronizationRegistry registro = registro();
+        
+        if(registro == null || registro.getTransactionKey() == null){
+            acao.run();
+        } else {
+            try {
+                registro.registerInterposedSynchronization(
+                    new Synchronization() {
+                        @Override
+                        public void beforeCompletion() {
+                        }
+                        @Override
+                        public void afterCompletion(final int status) {
+                            acao.run();
+                        }
+                    });
+            } catch (final IllegalStateException e) {
+                //transacao ja terminando
+                acao.run();
+            }
+        }
+    }
+
+    private static TransactionSynchronizationRegistry registro() {
+        if(!procurado){
+            //procurar duas vezes numa corrida nao tem problema
+            registro = procurarRegistro();
+            procurado = true;
+        }
+        return registro;
+    }
+
+    private static TransactionSynchronizationRegistry procurarRegistro() {
+        try {
+            return (TransactionSynchronizationRegistry) 
+                new InitialContext().lookup(JNDI_REGISTRO);
+        } catch (final NamingException e) {
+            LOG.log(Level.FINE, "Sem registro de sincronização JTA.", e);
+            return null;
+        }
+    }
+}
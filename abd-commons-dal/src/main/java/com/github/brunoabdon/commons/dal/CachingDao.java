@@ -0,0 +1,370 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.dal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.github.brunoabdon.commons.modelo.Versionada;
+import com.github.brunoabdon.commons.util.cache.CacheLimitado;
+import com.github.brunoabdon.commons.util.cache.EstatisticasCache;
+import com.github.brunoabdon.commons.util.modelo.Identifiable;
+
+/**
+ * Um {@link Dao} que guarda em memória as entidades lidas por outro 
+ * {@link Dao}, num {@link CacheLimitado} com tamanho máximo e tempo de vida.
+ * Criar, atualizar ou deletar uma entidade por este dao tira ela do cache, 
+ * na hora e de novo quando a transação JTA corrente terminar.
+ * 
+ * <p>As entidades do cache são compartilhadas entre requisições e 
+ * transações: devem ser tratadas como somente leitura, e não devem ter 
+ * associações lazy. Alterações feitas no banco por fora deste dao só são 
+ * vistas quando a entidade expira. Serve pra entidades de referência, muito
+ * lidas e pouco alteradas.</p>
+ * 
+ * <p>O tamanho e o tempo de vida podem ser configurados por tipo de entidade
+ * com as propriedades de sistema 
+ * {@code abd.cache.<NomeDaEntidade>.tamanhoMaximo} e 
+ * {@code abd.cache.<NomeDaEntidade>.ttl} (uma duração ISO-8601, como 
+ * {@code PT5M}). Veja {@link #configurado(Class, Dao)}.</p>
+ * 
+ * <p>Opcionalmente, o dao também guarda as chaves que não foram 
+ * encontradas, por um tempo curto 
+ * ({@code abd.cache.<NomeDaEntidade>.ttlNegativo}), pra que buscas 
+ * repetidas por chaves inexistentes não cheguem ao banco.
+ * Uma entidade criada por fora deste dao com uma dessas chaves só é vista
+ * quando a chave expira.</p>
+ * 
+ * @author Bruno Abdon
+ * @param <E> o tipo da entidade persistida
+ * @param <K> o tipo da chave da entidade
+ */
+public class CachingDao<E extends Identifiable<K>,K> implements Dao<E,K> {
+
+    public static final int TAMANHO_MAXIMO_PADRAO = 1000;
+    
+    public static final Duration TTL_PADRAO = Duration.ofMinutes(5);
+    
+    private final Dao<E,K> dao;
+    
+    private final CacheLimitado<K,E> cache;
+
+    private final CacheLimitado<K,Boolean> ausentes;
+
+    public CachingDao(
+            final Dao<E,K> dao, 
+            final int tamanhoMaximo, 
+            final Duration ttl) {
+        this(dao, tamanhoMaximo, ttl, null);
+    }
+
+    /**
+     * Cria um dao com cache de entidades e de chaves não encontradas.
+     * 
+     * @param dao o dao que vai ser usado quando a chave não estiver no 
+     * cache.
+     * @param tamanhoMaximo a quantidade máxima de entidades (e de chaves não
+     * encontradas) no cache.
+     * @param ttl quanto tempo uma entidade fica no cache.
+     * @param ttlNegativo quanto tempo uma chave não encontrada fica no 
+     * cache, ou {@code null} pra não guardar chaves não encontradas.
+     */
+    public CachingDao(
+            final Dao<E,K> dao, 
+            final int tamanhoMaximo, 
+            final Duration ttl,
+            final Duration ttlNegativo) {
+        this.dao = dao;
+        this.cache = new CacheLimitado<>(tamanhoMaximo, ttl);
+        this.ausentes = 
+            ttlNegativo == null 
+                ? null 
+                : new CacheLimitado<>(tamanhoMaximo, ttlNegativo);
+    }
+
+    /**
+     * Cria um {@link CachingDao} com a configuração das propriedades de 
+     * sistema {@code abd.cache.<klass.getSimpleName()>.tamanhoMaximo} e 
+     * {@code abd.cache.<klass.getSimpleName()>.ttl}, ou com 
+     * {@link #TAMANHO_MAXIMO_PADRAO} e {@link #TTL_PADRAO} se elas não 
+     * existirem. Chaves não encontradas só são guardadas se existir a 
+     * propriedade {@code abd.cache.<klass.getSimpleName()>.ttlNegativo}.
+     * 
+     * @param <E> o tipo da entidade persistida
+     * @param <K> o tipo da chave da entidade
+     * @param klass a classe da entidade.
+     * @param dao o dao que vai ser usado quando a entidade não estiver no 
+     * cache.
+     * @return o dao com cache.
+     */
+    public static <E extends Identifiable<K>,K> CachingDao<E,K> configurado(
+            final Class<E> klass, 
+            final Dao<E,K> dao) {
+        
+        final String prefixo = "abd.cache." + klass.getSimpleName() + ".";
+        
+        final int tamanhoMaximo = 
+            Integer.getInteger(
+                prefixo + "tamanhoMaximo", TAMANHO_MAXIMO_PADRAO);
+        
+        final String ttl = System.getProperty(prefixo + "ttl");
+        
+        final String ttlNegativo = System.getProperty(prefixo + "ttlNegativo");
+        
+        return new CachingDao<>(
+                dao, 
+                tamanhoMaximo, 
+                ttl == null ? TTL_PADRAO : Duration.parse(ttl),
+                ttlNegativo == null ? null : Duration.parse(ttlNegativo));
+    }
+
+    @Override
+    public E find(final K key) throws DalException {
+        return findOptional(key)
+                .orElseThrow(() -> EntityNotFoundException.semStackTrace(key));
+    }
+
+    @Override
+    public Optional<E> findOptional(final K key) throws DalException {
+        
+        final E entity = cache.get(key);
+        if(entity != null){
+            return Optional.of(entity);
+        }
+        
+        if(isAusente(key)){
+            return Optional.empty();
+        }
+        
+        final Optional<E> doBanco = dao.findOptional(key);
+        if(doBanco.isPresent()){
+            cache.put(key, doBanco.get());
+        } else {
+            marcarAusente(key);
+        }
+        
+        return doBanco;
+    }
+
+    @Override
+    public Object findVersao(final K key) throws DalException {
+        if(isAusente(key)){
+            throw EntityNotFoundException.semStackTrace(key);
+        }
+        
+        final E entity = cache.get(key);
+        return entity instanceof Versionada
+                ? ((Versionada) entity).getVersao()
+                : dao.findVersao(key);
+    }
+
+    @Override
+    public ResultadoBusca<E,K> findAll(final Collection<K> keys) 
+            throws DalException {
+
+        final Set<K> distinctKeys = new LinkedHashSet<>(keys);
+        
+        final Map<K,E> encontradas = new HashMap<>(distinctKeys.size() * 2);
+        final List<K> pendentes = new ArrayList<>();
+        
+        for (final K key : distinctKeys) {
+            final E entity = cache.get(key);
+            if(entity != null){
+                encontradas.put(key, entity);
+            } else if(!isAusente(key)){
+                pendentes.add(key);
+            }
+        }
+        
+        if(!pendentes.isEmpty()){
+            final ResultadoBusca<E,K> doBanco = dao.findAll(pendentes);
+            for (final E entity : doBanco.getEntidades()) {
+                cache.put(entity.getId(), entity);
+                encontradas.put(entity.getId(), entity);
+            }
+            doBanco.getChavesAusentes().forEach(this::marcarAusente);
+        }
+        
+        final List<E> entities = new ArrayList<>(encontradas.size());
+        final List<K> missingKeys = new ArrayList<>();
+        
+        for (final K key : distinctKeys) {
+            final E entity = encontradas.get(key);
+            if(entity == null){
+                missingKeys.add(key);
+            } else {
+                entities.add(entity);
+            }
+        }
+        
+        return new ResultadoBusca<>(entities, missingKeys);
+    }
+
+    @Override
+    public List<E> listar(final K after, final int limit, final Ordem ordem) 
+            throws DalException {
+        return dao.listar(after, limit, ordem);
+    }
+
+    @Override
+    public void criar(final E entity) throws DalException {
+        dao.criar(entity);
+        if(entity.getId() != null){
+            invalidar(entity.getId());
+        }
+    }
+
+    @Override
+    public E atualizar(final K key, final E entity) throws DalException {
+        try {
+            return dao.atualizar(key, entity);
+        } finally {
+            invalidar(key);
+        }
+    }
+
+    @Override
+    public E atualizarPropriedades(
+            final K key, 
+            final E entity, 
+            final Set<String> propriedades) throws DalException {
+        try {
+            return dao.atualizarPropriedades(key, entity, propriedades);
+        } finally {
+            invalidar(key);
+        }
+    }
+
+    @Override
+    public void deletar(final K key) throws DalException {
+        try {
+            dao.deletar(key);
+        } finally {
+            invalidar(key);
+        }
+    }
+
+    @Override
+    public ResultadoUpsert<E> upsert(final K key, final E entity) 
+            throws DalException {
+        try {
+            return dao.upsert(key, entity);
+        } finally {
+            invalidar(key);
+        }
+    }
+
+    @Override
+    public ResultadoLote<K> criarTodos(final Collection<? extends E> entities)
+            throws DalException {
+        final ResultadoLote<K> resultado = dao.criarTodos(entities);
+        invalidar(resultado);
+        return resultado;
+    }
+
+    @Override
+    public ResultadoLote<K> atualizarTodos(final Map<K,E> entities) 
+            throws DalException {
+        try {
+            return dao.atualizarTodos(entities);
+        } finally {
+            invalidar(entities.keySet());
+        }
+    }
+
+    @Override
+    public ResultadoLote<K> deletarTodos(final Collection<K> keys) 
+            throws DalException {
+        try {
+            return dao.deletarTodos(keys);
+        } finally {
+            invalidar(keys);
+        }
+    }
+
+    private void invalidar(final ResultadoLote<K> resultado) {
+        final List<K> keys = new ArrayList<>();
+        for (final ResultadoLote.Item<K> item : resultado.getItens()) {
+            if(item.getChave() != null){
+                keys.add(item.getChave());
+            }
+        }
+        invalidar(keys);
+    }
+
+    private void invalidar(final Collection<K> keys) {
+        final List<K> copia = new ArrayList<>(keys);
+        copia.forEach(this::invalidarAgora);
+        AposTransacao.executar(() -> copia.forEach(this::invalidarAgora));
+    }
+
+    /**
+     * Tira a chave do cache agora e de novo quando a transação terminar, pra
+     * que uma leitura concorrente feita antes do commit não deixe no cache,
+     * até expirar, a versão anterior da entidade.
+     */
+    private void invalidar(final K key) {
+        invalidarAgora(key);
+        AposTransacao.executar(() -> invalidarAgora(key));
+    }
+
+    private void invalidarAgora(final K key) {
+        cache.invalidate(key);
+        if(ausentes != null){
+            ausentes.invalidate(key);
+        }
+    }
+
+    private boolean isAusente(final K key) {
+        return ausentes != null && ausentes.get(key) != null;
+    }
+
+    private void marcarAusente(final K key) {
+        if(ausentes != null){
+            ausentes.put(key, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Tira todas as entidades e chaves não encontradas do cache.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        if(ausentes != null){
+            ausentes.invalidateAll();
+        }
+    }
+
+    public EstatisticasCache getEstatisticas() {
+        return cache.getEstatisticas();
+    }
+
+    /**
+     * @return as estatísticas do cache de chaves não encontradas, ou 
+     * {@code null} se ele não estiver ligado.
+     */
+    public EstatisticasCache getEstatisticasAusentes() {
+        return ausentes == null ? null : ausentes.getEstatisticas();
+    }
+}
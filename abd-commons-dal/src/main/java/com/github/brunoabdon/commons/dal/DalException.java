@@ -37,6 +37,23 @@ public class DalException extends Exception {
         this.params = params;
     }
 
+    /**
+     * Cria uma exceção, possivelmente sem stack trace. Uma exceção sem stack 
+     * trace é bem mais barata de criar, e serve pra erros esperados, que são
+     * tratados e não logados.
+     * 
+     * @param message a mensagem.
+     * @param writableStackTrace se o stack trace deve ser preenchido.
+     * @param params os parâmetros da mensagem.
+     */
+    protected DalException(
+            final String message, 
+            final boolean writableStackTrace,
+            final Serializable ... params) {
+        super(message, null, false, writableStackTrace);
+        this.params = params;
+    }
+
     public DalException(
             final Throwable cause,
             final String message, 
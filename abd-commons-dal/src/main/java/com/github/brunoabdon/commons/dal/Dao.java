@@ -16,6 +16,14 @@
  */
 package com.github.brunoabdon.commons.dal;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
 import com.github.brunoabdon.commons.util.modelo.Identifiable;
 
 /**
@@ -28,9 +36,236 @@ public interface Dao<E extends Identifiable<K>,K> {
 
     public E find(final K key) throws DalException;
 
+    /**
+     * Busca a entidade com a chave dada, sem levantar exceção se ela não 
+     * existir.
+     * 
+     * @param key a chave da entidade.
+     * @return a entidade, ou vazio se não houver entidade com a chave.
+     * @throws DalException se der erro na busca.
+     */
+    public default Optional<E> findOptional(final K key) throws DalException {
+        try {
+            return Optional.of(find(key));
+        } catch (final EntityNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Busca só a versão da entidade com a chave dada, sem carregá-la. Serve 
+     * pra responder requisições condicionais sem ler a entidade inteira.
+     * 
+     * <p>A implementação padrão retorna {@code null}.</p>
+     * 
+     * @param key a chave da entidade.
+     * @return a versão da entidade, ou {@code null} se a entidade não for 
+     * versionada ou a versão não puder ser obtida sem carregá-la.
+     * @throws EntityNotFoundException se não houver entidade com a chave.
+     * @throws DalException se der erro na busca.
+     */
+    public default Object findVersao(final K key) throws DalException {
+        return null;
+    }
+
+    /**
+     * Busca as entidades com as chaves dadas. Chaves repetidas são 
+     * consideradas uma vez só, e chaves sem entidade correspondente são 
+     * reportadas em {@link ResultadoBusca#getChavesAusentes()} (sem levantar
+     * {@link EntityNotFoundException}).
+     * 
+     * <p>A implementação padrão chama {@link #find(Object)} pra cada chave.
+     * </p>
+     * 
+     * @param keys as chaves das entidades procuradas.
+     * @return as entidades encontradas, na ordem das chaves, e as chaves não 
+     * encontradas.
+     * @throws DalException se der erro na busca.
+     */
+    public default ResultadoBusca<E,K> findAll(final Collection<K> keys) 
+            throws DalException {
+        
+        final List<E> entities = new ArrayList<>(keys.size());
+        final List<K> missingKeys = new ArrayList<>();
+        
+        for (final K key : new LinkedHashSet<>(keys)) {
+            try {
+                entities.add(find(key));
+            } catch (final EntityNotFoundException e) {
+                missingKeys.add(key);
+            }
+        }
+        
+        return new ResultadoBusca<>(entities, missingKeys);
+    }
+
+    /**
+     * Lista as entidades ordenadas pela chave, usando paginação por chave
+     * (<i>keyset</i>): a página seguinte começa logo depois da última chave
+     * da página anterior, sem {@code OFFSET}, de modo que o custo de uma 
+     * página não depende da sua posição.
+     * 
+     * <p>A implementação padrão levanta {@link DalException} com 
+     * {@code OPERACAO_NAO_SUPORTADA}: a paginação por chave precisa de uma
+     * consulta ordenada que só a implementação sabe fazer.</p>
+     * 
+     * @param after a última chave da página anterior, ou {@code null} pra 
+     * primeira página.
+     * @param limit a quantidade máxima de entidades da página.
+     * @param ordem a ordem das chaves.
+     * @return as entidades da página.
+     * @throws DalException se der erro na busca.
+     */
+    public default List<E> listar(
+            final K after, 
+            final int limit, 
+            final Ordem ordem) throws DalException {
+        throw new DalException(
+            "com.github.brunoabdon.commons.dal.OPERACAO_NAO_SUPORTADA", 
+            "listar");
+    }
+
     public void criar(final E entity) throws DalException;
 
     public E atualizar(final K key, final E entity) throws DalException;
 
+    /**
+     * Atualiza só algumas propriedades da entidade com a chave dada, com os 
+     * valores que elas têm em {@code entity}. As outras propriedades da 
+     * entidade persistida não mudam, e as de {@code entity} são ignoradas.
+     * 
+     * <p>A implementação padrão não tem propriedades atualizáveis: sem 
+     * propriedades, retorna a entidade com {@link #find(Object)}; com 
+     * alguma, levanta {@link DalException} com 
+     * {@code PROPRIEDADE_NAO_ATUALIZAVEL}.</p>
+     * 
+     * @param key a chave da entidade.
+     * @param entity os novos valores das propriedades.
+     * @param propriedades os nomes das propriedades a atualizar.
+     * @return a entidade persistida, atualizada.
+     * @throws EntityNotFoundException se não houver entidade com a chave.
+     * @throws DalException se alguma propriedade não puder ser atualizada ou
+     * se a entidade atualizada for inválida.
+     */
+    public default E atualizarPropriedades(
+            final K key, 
+            final E entity, 
+            final Set<String> propriedades) throws DalException {
+        
+        if(!propriedades.isEmpty()){
+            throw new DalException(
+                "com.github.brunoabdon.commons.dal.PROPRIEDADE_NAO_ATUALIZAVEL",
+                propriedades.iterator().next());
+        }
+        return find(key);
+    }
+
     public void deletar(final K key) throws DalException;
+
+    /**
+     * Cria a entidade com a chave dada, se ela não existir, ou a atualiza, 
+     * se existir.
+     * 
+     * <p>A implementação padrão usa {@link #findOptional(Object)} e depois
+     * {@link #criar(Identifiable)} ou 
+     * {@link #atualizar(Object, Identifiable)}. Implementações que puderem 
+     * devem sobrescrevê-la pra verificar a existência uma vez só.</p>
+     * 
+     * @param key a chave da entidade.
+     * @param entity os dados da entidade.
+     * @return a entidade persistida e se ela foi criada.
+     * @throws DalException se der erro na criação ou na atualização.
+     */
+    public default ResultadoUpsert<E> upsert(final K key, final E entity) 
+            throws DalException {
+        
+        final ResultadoUpsert<E> resultado;
+        
+        if(findOptional(key).isPresent()){
+            resultado = ResultadoUpsert.atualizada(atualizar(key, entity));
+        } else {
+            criar(entity);
+            resultado = ResultadoUpsert.criada(entity);
+        }
+        return resultado;
+    }
+
+    /**
+     * Cria várias entidades. Um item que falha não impede a criação dos 
+     * outros; a falha é registrada no resultado.
+     * 
+     * @param entities as entidades a criar.
+     * @return a situação de cada item.
+     * @throws DalException se der erro que não seja de um item específico.
+     */
+    public default ResultadoLote<K> criarTodos(
+            final Collection<? extends E> entities) throws DalException {
+        
+        final ResultadoLote<K> resultado = new ResultadoLote<>();
+        
+        int indice = 0;
+        for (final E entity : entities) {
+            try {
+                criar(entity);
+                resultado.ok(indice, entity.getId());
+            } catch (final DalException e) {
+                resultado.falha(indice, entity.getId(), e);
+            }
+            indice++;
+        }
+        return resultado;
+    }
+
+    /**
+     * Atualiza várias entidades. Um item que falha não impede a atualização
+     * dos outros; a falha é registrada no resultado.
+     * 
+     * @param entities as entidades a atualizar, pelas suas chaves.
+     * @return a situação de cada item.
+     * @throws DalException se der erro que não seja de um item específico.
+     */
+    public default ResultadoLote<K> atualizarTodos(final Map<K,E> entities) 
+            throws DalException {
+        
+        final ResultadoLote<K> resultado = new ResultadoLote<>();
+        
+        int indice = 0;
+        for (final Map.Entry<K,E> entry : entities.entrySet()) {
+            final K key = entry.getKey();
+            try {
+                atualizar(key, entry.getValue());
+                resultado.ok(indice, key);
+            } catch (final DalException e) {
+                resultado.falha(indice, key, e);
+            }
+            indice++;
+        }
+        return resultado;
+    }
+
+    /**
+     * Deleta várias entidades. Um item que falha não impede a deleção dos 
+     * outros; a falha é registrada no resultado.
+     * 
+     * @param keys as chaves das entidades a deletar.
+     * @return a situação de cada item.
+     * @throws DalException se der erro que não seja de um item específico.
+     */
+    public default ResultadoLote<K> deletarTodos(final Collection<K> keys) 
+            throws DalException {
+        
+        final ResultadoLote<K> resultado = new ResultadoLote<>();
+        
+        int indice = 0;
+        for (final K key : keys) {
+            try {
+                deletar(key);
+                resultado.ok(indice, key);
+            } catch (final DalException e) {
+                resultado.falha(indice, key, e);
+            }
+            indice++;
+        }
+        return resultado;
+    }
 }
@@ -16,6 +16,8 @@
  */
 package com.github.brunoabdon.commons.dal;
 
+import java.io.Serializable;
+
 /**
  * Exceção que indica que uma busca por chave não encontrou o elemento 
  * procurado.
@@ -36,6 +38,24 @@ public class EntityNotFoundException extends DalException{
             final Object ... params) {
         super(cause, ERRO_NOT_FOUND,params);
     }
+
+    private EntityNotFoundException(
+            final boolean writableStackTrace, 
+            final Object[] params) {
+        super(ERRO_NOT_FOUND, writableStackTrace, new Serializable[]{params});
+    }
+
+    /**
+     * Cria uma exceção sem stack trace, barata pra quando "não encontrado" é
+     * um resultado esperado (como numa busca por chave vinda de fora).
+     * 
+     * @param params os parâmetros da mensagem (normalmente, a chave).
+     * @return a exceção.
+     */
+    public static EntityNotFoundException semStackTrace(
+            final Object ... params) {
+        return new EntityNotFoundException(false, params);
+    }
     
     
 }
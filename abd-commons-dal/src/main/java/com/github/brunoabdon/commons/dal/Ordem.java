@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.dal;
+
+/**
+ * Ordem de uma {@link Dao#listar(Object, int, Ordem) listagem} pela chave.
+ * 
+ * @author Bruno Abdon
+ */
+public enum Ordem {
+    
+    CRESCENTE("ASC", ">"), 
+    
+    DECRESCENTE("DESC", "<");
+    
+    private final String jpql;
+    private final String comparador;
+
+    private Ordem(final String jpql, final String comparador) {
+        this.jpql = jpql;
+        this.comparador = comparador;
+    }
+
+    /**
+     * @return a palavra-chave JPQL da ordem ({@code ASC} ou {@code DESC}).
+     */
+    public String getJpql() {
+        return jpql;
+    }
+
+    /**
+     * @return o operador que seleciona as chaves que vêm depois de uma chave
+     * dada, nesta ordem ({@code >} ou {@code <}).
+     */
+    public String getComparador() {
+        return comparador;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.dal;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de uma {@link Dao#findAll(java.util.Collection) busca por várias
+ * chaves}: as entidades encontradas, na ordem das chaves pedidas, e as chaves
+ * que não foram encontradas.
+ * 
+ * @author Bruno Abdon
+ * @param <E> o tipo da entidade buscada
+ * @param <K> o tipo da chave da entidade
+ */
+public class ResultadoBusca<E,K> {
+
+    private final List<E> entidades;
+    
+    private final List<K> chavesAusentes;
+
+    public ResultadoBusca(
+            final List<E> entidades, 
+            final List<K> chavesAusentes) {
+        this.entidades = Collections.unmodifiableList(entidades);
+        this.chavesAusentes = Collections.unmodifiableList(chavesAusentes);
+    }
+
+    /**
+     * As entidades encontradas, na ordem em que suas chaves foram pedidas.
+     * 
+     * @return as entidades encontradas.
+     */
+    public List<E> getEntidades() {
+        return entidades;
+    }
+
+    /**
+     * As chaves pedidas que não correspondem a nenhuma entidade, na ordem em
+     * que foram pedidas.
+     * 
+     * @return as chaves não encontradas.
+     */
+    public List<K> getChavesAusentes() {
+        return chavesAusentes;
+    }
+
+    public boolean isCompleto() {
+        return chavesAusentes.isEmpty();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.dal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resumo de uma operação em lote ({@link Dao#criarTodos(java.util.Collection)
+ * criarTodos}, {@link Dao#atualizarTodos(java.util.Map) atualizarTodos},
+ * {@link Dao#deletarTodos(java.util.Collection) deletarTodos}), com a 
+ * situação de cada item, na ordem em que foram passados.
+ * 
+ * @author Bruno Abdon
+ * @param <K> o tipo da chave das entidades
+ */
+public class ResultadoLote<K> {
+
+    public enum Situacao {OK, NAO_ENCONTRADO, ERRO}
+
+    /**
+     * A situação de um item do lote.
+     * 
+     * @param <K> o tipo da chave da entidade
+     */
+    public static class Item<K> {
+        
+        private final int indice;
+        private final K chave;
+        private final Situacao situacao;
+        private final String mensagem;
+
+        public Item(
+                final int indice, 
+                final K chave, 
+                final Situacao situacao, 
+                final String mensagem) {
+            this.indice = indice;
+            this.chave = chave;
+            this.situacao = situacao;
+            this.mensagem = mensagem;
+        }
+
+        /**
+         * A posição do item no lote.
+         * 
+         * @return a posição do item.
+         */
+        public int getIndice() {
+            return indice;
+        }
+
+        /**
+         * A chave da entidade, se conhecida. Numa criação que falhou, pode 
+         * ser {@code null}.
+         * 
+         * @return a chave da entidade.
+         */
+        public K getChave() {
+            return chave;
+        }
+
+        public Situacao getSituacao() {
+            return situacao;
+        }
+
+        /**
+         * A mensagem da {@link DalException} que fez o item falhar, ou
+         * {@code null} se deu certo.
+         * 
+         * @return a mensagem de erro.
+         */
+        public String getMensagem() {
+            return mensagem;
+        }
+    }
+    
+    private final List<Item<K>> itens = new ArrayList<>();
+    
+    private int quantidadeOk = 0;
+    
+    public void ok(final int indice, final K chave) {
+        itens.add(new Item<>(indice, chave, Situacao.OK, null));
+        quantidadeOk++;
+    }
+    
+    public void naoEncontrado(final int indice, final K chave) {
+        itens.add(new Item<>(indice, chave, Situacao.NAO_ENCONTRADO, null));
+    }
+
+    public void falha(final int indice, final K chave, final DalException e) {
+        final Situacao situacao = 
+            e instanceof EntityNotFoundException 
+                ? Situacao.NAO_ENCONTRADO 
+                : Situacao.ERRO;
+        itens.add(new Item<>(indice, chave, situacao, e.getMessage()));
+    }
+    
+    /**
+     * Junta a este o resultado de uma parte do lote, com as posições dos 
+     * itens deslocadas pela posição da parte.
+     * 
+     * @param parte o resultado da parte.
+     * @param deslocamento a posição, no lote inteiro, do primeiro item da 
+     * parte.
+     */
+    public void adicionar(final ResultadoLote<K> parte, final int deslocamento){
+        for (final Item<K> item : parte.itens) {
+            itens.add(
+                new Item<>(
+                    item.indice + deslocamento, 
+                    item.chave, 
+                    item.situacao, 
+                    item.mensagem));
+        }
+        quantidadeOk += parte.quantidadeOk;
+    }
+    
+    public List<Item<K>> getItens() {
+        return Collections.unmodifiableList(itens);
+    }
+
+    public int getQuantidadeOk() {
+        return quantidadeOk;
+    }
+
+    public int getQuantidadeFalhas() {
+        return itens.size() - quantidadeOk;
+    }
+    
+    public boolean isSucesso() {
+        return getQuantidadeFalhas() == 0;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.dal;
+
+/**
+ * Resultado de um {@link Dao#upsert(Object, 
+ * com.github.brunoabdon.commons.util.modelo.Identifiable) upsert}: a 
+ * entidade persistida e se ela foi criada ou atualizada.
+ * 
+ * @author Bruno Abdon
+ * @param <E> o tipo da entidade persistida
+ */
+public class ResultadoUpsert<E> {
+
+    private final E entity;
+    
+    private final boolean criada;
+
+    private ResultadoUpsert(final E entity, final boolean criada) {
+        this.entity = entity;
+        this.criada = criada;
+    }
+
+    public static <E> ResultadoUpsert<E> criada(final E entity) {
+        return new ResultadoUpsert<>(entity, true);
+    }
+
+    public static <E> ResultadoUpsert<E> atualizada(final E entity) {
+        return new ResultadoUpsert<>(entity, false);
+    }
+
+    /**
+     * @return a entidade persistida: a passada, se foi criada, ou a que já 
+     * existia, com os dados atualizados.
+     */
+    public E getEntity() {
+        return entity;
+    }
+
+    /**
+     * @return se não existia entidade com a chave e ela foi criada.
+     */
+    public boolean isCriada() {
+        return criada;
+    }
+}
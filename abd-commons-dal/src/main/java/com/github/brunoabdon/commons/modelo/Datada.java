@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.modelo;
+
+import java.time.Instant;
+
+/**
+ * Uma entidade que sabe quando foi modificada pela última vez.
+ * 
+ * @author Bruno Abdon
+ */
+public interface Datada {
+
+    /**
+     * O momento da última modificação da entidade.
+     * 
+     * @return o momento da última modificação, ou {@code null} se não for 
+     * conhecido.
+     */
+    public Instant getUltimaModificacao();
+}
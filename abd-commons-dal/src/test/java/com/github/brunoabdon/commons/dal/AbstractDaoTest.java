@@ -0,0 +1,279 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.dal;
+
+import static com.github.brunoabdon.commons.dal.ResultadoLote.Situacao.ERRO;
+import static com.github.brunoabdon.commons.dal.ResultadoLote.Situacao.NAO_ENCONTRADO;
+import static com.github.brunoabdon.commons.dal.ResultadoLote.Situacao.OK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.PersistenceException;
+
+import com.github.brunoabdon.commons.util.metricas.Metricas;
+
+import org.junit.jupiter.api.Test;
+
+public class AbstractDaoTest {
+
+    private final EntityManagerFalso banco = new EntityManagerFalso();
+    
+    private final CoisaDao dao = new CoisaDao(banco.em);
+
+    @Test
+    public void criarTodosDescarregaPorParte() throws DalException {
+        final ResultadoLote<Integer> resultado = 
+            dao.criarTodos(
+                List.of(
+                    new Coisa(1, "a"), 
+                    new Coisa(2, "b"), 
+                    new Coisa(3, "c"), 
+                    new Coisa(4, "d"), 
+                    new Coisa(5, "e")));
+        
+        assertTrue(resultado.isSucesso());
+        assertEquals(5, resultado.getQuantidadeOk());
+        assertEquals(3, banco.flushes);
+        assertEquals(5, banco.banco.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, resultado.getItens().get(i).getIndice());
+        }
+    }
+
+    @Test
+    public void criarTodosMarcaAsInvalidas() throws DalException {
+        final ResultadoLote<Integer> resultado = 
+            dao.criarTodos(
+                List.of(
+                    new Coisa(1, "a"), 
+                    new Coisa(2, null), 
+                    new Coisa(3, "c")));
+        
+        assertEquals(List.of(OK, ERRO, OK), situacoes(resultado));
+        assertEquals(
+            CoisaDao.NOME_OBRIGATORIO, 
+            resultado.getItens().get(1).getMensagem());
+        assertFalse(banco.banco.containsKey(2));
+    }
+
+    @Test
+    public void criarTodosComFlushFalhandoLevantaErroLote() {
+        banco.erroFlush = new PersistenceException("chave duplicada");
+        
+        final DalException e = 
+            assertThrows(
+                DalException.class, 
+                () -> dao.criarTodos(List.of(new Coisa(1, "a"))));
+        
+        assertEquals(AbstractDao.ERRO_LOTE, e.getMessage());
+        assertTrue(e.getCause() instanceof PersistenceException);
+        assertTrue(banco.banco.isEmpty());
+    }
+
+    @Test
+    public void atualizarTodosMarcaAsAusentes() throws DalException {
+        banco.gravar(1, "a");
+        
+        final Map<Integer,Coisa> coisas = new LinkedHashMap<>();
+        coisas.put(1, new Coisa(1, "nova"));
+        coisas.put(9, new Coisa(9, "x"));
+        
+        final ResultadoLote<Integer> resultado = dao.atualizarTodos(coisas);
+        
+        assertEquals(List.of(OK, NAO_ENCONTRADO), situacoes(resultado));
+        assertEquals("nova", banco.banco.get(1).getNome());
+        assertEquals(Long.valueOf(1), banco.banco.get(1).getVersao());
+        assertFalse(banco.banco.containsKey(9));
+    }
+
+    @Test
+    public void deletarTodosComChaveRepetidaDeletaUmaVez() 
+            throws DalException {
+        banco.gravar(1, "a");
+        banco.gravar(2, "b");
+        
+        final ResultadoLote<Integer> resultado = 
+            dao.deletarTodos(List.of(1, 1, 2));
+        
+        assertEquals(List.of(OK, NAO_ENCONTRADO, OK), situacoes(resultado));
+        assertEquals(2, resultado.getQuantidadeOk());
+        assertTrue(banco.banco.isEmpty());
+    }
+
+    @Test
+    public void upsertCriaQuandoNaoExiste() throws DalException {
+        final Coisa nova = new Coisa(5, "e");
+        
+        final ResultadoUpsert<Coisa> resultado = dao.upsert(5, nova);
+        
+        assertTrue(resultado.isCriada());
+        assertSame(nova, resultado.getEntity());
+        assertSame(nova, dao.find(5));
+    }
+
+    @Test
+    public void upsertAtualizaComUmaBuscaSo() throws DalException {
+        final Coisa gravada = banco.gravar(1, "a");
+        
+        final ResultadoUpsert<Coisa> resultado = 
+            dao.upsert(1, new Coisa(1, "b"));
+        
+        assertFalse(resultado.isCriada());
+        assertSame(gravada, resultado.getEntity());
+        assertEquals("b", gravada.getNome());
+        assertEquals(1, banco.leituras);
+    }
+
+    @Test
+    public void upsertInvalidoNaoCria() {
+        assertThrows(
+            DalException.class, 
+            () -> dao.upsert(5, new Coisa(5, null)));
+        
+        assertThrows(EntityNotFoundException.class, () -> dao.find(5));
+    }
+
+    @Test
+    public void atualizarPropriedadesCopiaSoAsPedidas() throws DalException {
+        final Coisa gravada = banco.gravar(1, "a");
+        gravada.setDescricao("d");
+        
+        final Coisa parcial = new Coisa(1, "b");
+        parcial.setDescricao("x");
+        
+        dao.atualizarPropriedades(1, parcial, Set.of("nome"));
+        
+        assertEquals("b", gravada.getNome());
+        assertEquals("d", gravada.getDescricao());
+    }
+
+    @Test
+    public void atualizarPropriedadesIgnoraIdEVersao() throws DalException {
+        final Coisa gravada = banco.gravar(1, "a");
+        
+        final Coisa parcial = new Coisa(99, "b");
+        parcial.setVersao(7L);
+        
+        dao.atualizarPropriedades(1, parcial, Set.of("id", "versao", "nome"));
+        
+        assertEquals(Integer.valueOf(1), gravada.getId());
+        assertEquals(Long.valueOf(1), gravada.getVersao());
+        assertEquals("b", gravada.getNome());
+    }
+
+    @Test
+    public void atualizarPropriedadesRecusaAsNaoLiberadas() {
+        final Coisa gravada = banco.gravar(1, "a");
+        
+        for (final String propriedade : List.of("descricao", "inexistente")) {
+            final DalException e = 
+                assertThrows(
+                    DalException.class, 
+                    () -> dao.atualizarPropriedades(
+                            1, 
+                            new Coisa(1, "b"), 
+                            Set.of("nome", propriedade)));
+            assertEquals(propriedade, e.getParams()[0]);
+        }
+        
+        assertEquals("a", gravada.getNome());
+    }
+
+    @Test
+    public void atualizarPropriedadesReferenciaAssociacao() 
+            throws DalException {
+        final Coisa gravada = banco.gravar(1, "a");
+        banco.gravar(2, "pai");
+        
+        final Coisa solta = new Coisa(2, "solta");
+        final Coisa parcial = new Coisa(1, "a");
+        parcial.setPai(solta);
+        
+        dao.atualizarPropriedades(1, parcial, Set.of("pai"));
+        
+        assertNotSame(solta, gravada.getPai());
+        assertEquals(Integer.valueOf(2), gravada.getPai().getId());
+    }
+
+    @Test
+    public void atualizarPropriedadesInvalidaRecarrega() {
+        banco.gravar(1, "a");
+        
+        assertThrows(
+            DalException.class, 
+            () -> dao.atualizarPropriedades(
+                    1, new Coisa(1, null), Set.of("nome")));
+        
+        assertEquals(1, banco.refreshes);
+    }
+
+    @Test
+    public void metricasContamCadaChamadaUmaVez() throws DalException {
+        banco.gravar(1, "a");
+        
+        dao.find(1);
+        assertThrows(EntityNotFoundException.class, () -> dao.find(9));
+        assertThrows(DalException.class, () -> dao.criar(new Coisa(2, null)));
+        dao.upsert(3, new Coisa(3, "c"));
+        dao.atualizar(1, new Coisa(1, "b"));
+        
+        assertEquals(
+            List.of(
+                "find Coisa " + Metricas.OK, 
+                "find Coisa " + Metricas.NAO_ENCONTRADO,
+                "criar Coisa " + Metricas.CONFLITO,
+                "upsert Coisa " + Metricas.OK,
+                "atualizar Coisa " + Metricas.OK),
+            dao.metricas);
+    }
+
+    @Test
+    public void metricasContamErroInesperado() {
+        banco.gravar(1, "a");
+        
+        final CoisaDao quebrado = new CoisaDao(banco.em) {
+            @Override
+            protected void prepararDelecao(final Coisa coisa) {
+                throw new IllegalStateException("quebrado");
+            }
+        };
+        
+        assertThrows(IllegalStateException.class, () -> quebrado.deletar(1));
+        
+        assertEquals(
+            List.of("deletar Coisa " + Metricas.ERRO), 
+            quebrado.metricas);
+        assertTrue(banco.banco.containsKey(1));
+    }
+
+    private static List<ResultadoLote.Situacao> situacoes(
+            final ResultadoLote<Integer> resultado) {
+        final List<ResultadoLote.Situacao> situacoes = new ArrayList<>();
+        resultado.getItens().forEach(item -> situacoes.add(item.getSituacao()));
+        return situacoes;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.dal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class CachingDaoTest {
+
+    private final EntityManagerFalso banco = new EntityManagerFalso();
+    
+    private final CachingDao<Coisa,Integer> dao = 
+        new CachingDao<>(
+            new CoisaDao(banco.em), 
+            10, 
+            Duration.ofMinutes(1), 
+            Duration.ofMinutes(1));
+
+    @Test
+    public void guardaAsLidas() throws DalException {
+        banco.gravar(1, "a");
+        
+        dao.find(1);
+        novaRequisicao();
+        dao.find(1);
+        
+        assertEquals(1, banco.leituras);
+    }
+
+    @Test
+    public void atualizarInvalida() throws DalException {
+        banco.gravar(1, "a");
+        dao.find(1);
+        
+        dao.atualizar(1, new Coisa(1, "b"));
+        novaRequisicao();
+        final int leituras = banco.leituras;
+        
+        assertEquals("b", dao.find(1).getNome());
+        assertEquals(leituras + 1, banco.leituras);
+    }
+
+    @Test
+    public void atualizarFalhandoInvalida() throws DalException {
+        banco.gravar(1, "a");
+        dao.find(1);
+        
+        assertThrows(
+            DalException.class, 
+            () -> dao.atualizar(1, new Coisa(1, null)));
+        novaRequisicao();
+        dao.find(1);
+        
+        assertEquals(2, banco.leituras);
+    }
+
+    @Test
+    public void criarTiraDosAusentes() throws DalException {
+        assertFalse(dao.findOptional(5).isPresent());
+        assertFalse(dao.findOptional(5).isPresent());
+        assertEquals(1, banco.leituras);
+        
+        dao.criar(new Coisa(5, "e"));
+        
+        assertTrue(dao.findOptional(5).isPresent());
+    }
+
+    @Test
+    public void lotesInvalidam() throws DalException {
+        banco.gravar(1, "a");
+        dao.find(1);
+        assertFalse(dao.findOptional(5).isPresent());
+        
+        dao.criarTodos(List.of(new Coisa(5, "e")));
+        dao.deletarTodos(List.of(1));
+        novaRequisicao();
+        
+        assertTrue(dao.findOptional(5).isPresent());
+        assertThrows(EntityNotFoundException.class, () -> dao.find(1));
+    }
+
+    @Test
+    public void findAllSoBuscaAsQueFaltam() throws DalException {
+        banco.gravar(1, "a");
+        banco.gravar(2, "b");
+        dao.find(1);
+        novaRequisicao();
+        final int leituras = banco.leituras;
+        
+        final ResultadoBusca<Coisa,Integer> resultado = 
+            dao.findAll(List.of(1, 2, 3));
+        
+        assertEquals(2, resultado.getEntidades().size());
+        assertEquals(List.of(3), resultado.getChavesAusentes());
+        assertEquals(leituras + 1, banco.leituras);
+        
+        assertFalse(dao.findOptional(3).isPresent());
+        assertEquals(leituras + 1, banco.leituras);
+    }
+
+    /**
+     * Esvazia o contexto de persistência, como no começo de outra 
+     * requisição, pra que só o cache evite a ida ao banco.
+     */
+    private void novaRequisicao() {
+        banco.em.clear();
+    }
+}
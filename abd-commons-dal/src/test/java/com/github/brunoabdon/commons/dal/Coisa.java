@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.dal;
+
+import com.github.brunoabdon.commons.modelo.Versionada;
+import com.github.brunoabdon.commons.util.modelo.Identifiable;
+
+/**
+ * A entidade dos testes do pacote. Pro {@link EntityManagerFalso}, o 
+ * atributo {@code id} é a chave, o {@code versao} é a versão e o 
+ * {@code pai} é uma associação.
+ */
+class Coisa implements Identifiable<Integer>, Versionada {
+
+    private Integer id;
+    
+    private Long versao;
+    
+    private String nome;
+    
+    private String descricao;
+    
+    private Coisa pai;
+
+    Coisa() {
+    }
+
+    Coisa(final Integer id, final String nome) {
+        this.id = id;
+        this.nome = nome;
+    }
+
+    @Override
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(final Integer id) {
+        this.id = id;
+    }
+
+    @Override
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(final Long versao) {
+        this.versao = versao;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(final String nome) {
+        this.nome = nome;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public void setDescricao(final String descricao) {
+        this.descricao = descricao;
+    }
+
+    public Coisa getPai() {
+        return pai;
+    }
+
+    public void setPai(final Coisa pai) {
+        this.pai = pai;
+    }
+
+    @Override
+    public String toString() {
+        return "Coisa " + id;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.dal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+
+import com.github.brunoabdon.commons.util.metricas.Metricas;
+
+/**
+ * O dao dos testes do pacote, com lotes de escrita de duas coisas, pra que 
+ * os lotes dos testes tenham mais de uma parte, e com as métricas guardadas
+ * numa lista.
+ */
+class CoisaDao extends AbstractDao<Coisa,Integer> {
+
+    static final String NOME_OBRIGATORIO = "NOME_OBRIGATORIO";
+
+    /**
+     * As operações registradas, como {@code "operacao entidade resultado"}.
+     */
+    final List<String> metricas = new ArrayList<>();
+
+    CoisaDao(final EntityManager em) {
+        super(Coisa.class);
+        setEntityManager(em);
+    }
+
+    @Override
+    protected void validar(final Coisa coisa) throws DalException {
+        if(coisa.getNome() == null){
+            throw new DalException(NOME_OBRIGATORIO);
+        }
+    }
+
+    @Override
+    protected void atualizarEntity(final Coisa source, final Coisa dest) {
+        copiarAtributosSimples(source, dest);
+    }
+
+    @Override
+    protected Set<String> getPropriedadesAtualizaveisParcialmente() {
+        return Set.of("nome", "pai");
+    }
+
+    @Override
+    protected int getTamanhoLoteEscrita() {
+        return 2;
+    }
+
+    @Override
+    protected Metricas getMetricas() {
+        return (operacao, entidade, resultado, nanos) -> 
+            metricas.add(operacao + " " + entidade + " " + resultado);
+    }
+}
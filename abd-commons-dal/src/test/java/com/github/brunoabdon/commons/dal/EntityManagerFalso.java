@@ -0,0 +1,326 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.dal;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.persistence.metamodel.Type;
+
+/**
+ * Um {@link EntityManager} em memória, só de {@link Coisa}s, feito com 
+ * {@link Proxy}. Entende só o que o {@link AbstractDao} usa. As consultas 
+ * devolvem as coisas com os ids do parâmetro {@code ids}, ou todas, e as 
+ * coisas persistidas ou removidas só mudam o banco no 
+ * {@link EntityManager#flush() flush}.
+ */
+class EntityManagerFalso {
+
+    /**
+     * Responde às chamadas de um proxy.
+     */
+    @FunctionalInterface
+    private interface Resposta {
+        Object responder(Object proxy, String metodo, Object[] args);
+    }
+
+    /**
+     * As coisas gravadas, pelo id.
+     */
+    final Map<Integer,Coisa> banco = new LinkedHashMap<>();
+
+    /**
+     * Quantas vezes o banco foi lido, por {@code find} ou por consulta.
+     */
+    int leituras;
+
+    int flushes;
+
+    int refreshes;
+
+    /**
+     * Se não for {@code null}, é levantada (uma vez) no próximo flush.
+     */
+    PersistenceException erroFlush;
+
+    final EntityManager em;
+
+    private final Map<Integer,Coisa> contexto = new HashMap<>();
+
+    private final List<Coisa> persistidas = new ArrayList<>();
+
+    private final List<Coisa> removidas = new ArrayList<>();
+
+    private final Map<String,SingularAttribute<?,?>> atributos = 
+        new LinkedHashMap<>();
+
+    private final EntityManagerFactory emf;
+
+    private final Metamodel metamodelo;
+
+    EntityManagerFalso() {
+        for (final Field campo : Coisa.class.getDeclaredFields()) {
+            atributos.put(campo.getName(), atributo(campo));
+        }
+        
+        final Type<?> tipoId = proxy(Type.class, (p, metodo, args) -> {
+            switch (metodo) {
+                case "getPersistenceType": 
+                    return Type.PersistenceType.BASIC;
+                case "getJavaType": 
+                    return Integer.class;
+                default: 
+                    throw new UnsupportedOperationException(metodo);
+            }
+        });
+        
+        final EntityType<?> tipo = 
+            proxy(EntityType.class, (p, metodo, args) -> {
+                switch (metodo) {
+                    case "getName": 
+                        return Coisa.class.getSimpleName();
+                    case "getJavaType": 
+                        return Coisa.class;
+                    case "hasSingleIdAttribute":
+                    case "hasVersionAttribute": 
+                        return true;
+                    case "getIdType": 
+                        return tipoId;
+                    case "getId": 
+                        return atributos.get("id");
+                    case "getSingularAttributes": 
+                        return new HashSet<>(atributos.values());
+                    default: 
+                        throw new UnsupportedOperationException(metodo);
+                }
+            });
+        
+        this.metamodelo = proxy(Metamodel.class, (p, metodo, args) -> tipo);
+        
+        final PersistenceUnitUtil util = 
+            proxy(PersistenceUnitUtil.class, (p, metodo, args) -> {
+                final Coisa coisa = (Coisa) args[0];
+                switch (metodo) {
+                    case "isLoaded": 
+                        return coisa != null 
+                                && contexto.get(coisa.getId()) == coisa;
+                    case "getIdentifier": 
+                        return coisa.getId();
+                    default: 
+                        throw new UnsupportedOperationException(metodo);
+                }
+            });
+        
+        final Cache cache = proxy(Cache.class, (p, metodo, args) -> false);
+        
+        this.emf = proxy(EntityManagerFactory.class, (p, metodo, args) -> {
+            switch (metodo) {
+                case "getPersistenceUnitUtil": 
+                    return util;
+                case "getCache": 
+                    return cache;
+                default: 
+                    throw new UnsupportedOperationException(metodo);
+            }
+        });
+        
+        this.em = proxy(EntityManager.class, this::entityManager);
+    }
+
+    /**
+     * Grava uma coisa direto no banco, sem passar pelo contexto.
+     */
+    Coisa gravar(final Integer id, final String nome) {
+        final Coisa coisa = new Coisa(id, nome);
+        coisa.setVersao(1L);
+        banco.put(id, coisa);
+        return coisa;
+    }
+
+    private Object entityManager(
+            final Object proxy, 
+            final String metodo, 
+            final Object[] args) {
+        
+        switch (metodo) {
+            case "find":
+                return buscar((Integer) args[1]);
+            case "getReference":
+                return referencia((Integer) args[1]);
+            case "persist":
+                final Coisa nova = (Coisa) args[0];
+                persistidas.add(nova);
+                contexto.put(nova.getId(), nova);
+                return null;
+            case "remove":
+                final Coisa removida = (Coisa) args[0];
+                removidas.add(removida);
+                contexto.remove(removida.getId());
+                return null;
+            case "flush":
+                flush();
+                return null;
+            case "clear":
+                contexto.clear();
+                persistidas.clear();
+                removidas.clear();
+                return null;
+            case "refresh":
+                refreshes++;
+                return null;
+            case "createQuery":
+                return consulta();
+            case "getEntityManagerFactory":
+                return emf;
+            case "getMetamodel":
+                return metamodelo;
+            default:
+                throw new UnsupportedOperationException(metodo);
+        }
+    }
+
+    private Coisa buscar(final Integer id) {
+        Coisa coisa = contexto.get(id);
+        if(coisa == null){
+            leituras++;
+            coisa = banco.get(id);
+            if(coisa != null){
+                contexto.put(id, coisa);
+            }
+        }
+        return coisa;
+    }
+
+    /**
+     * Como o proxy de um provedor: a coisa do contexto, ou uma coisa não 
+     * carregada, só com o id.
+     */
+    private Coisa referencia(final Integer id) {
+        final Coisa carregada = contexto.get(id);
+        return carregada == null ? new Coisa(id, null) : carregada;
+    }
+
+    private void flush() {
+        flushes++;
+        if(erroFlush != null){
+            final PersistenceException erro = erroFlush;
+            erroFlush = null;
+            throw erro;
+        }
+        persistidas.forEach(coisa -> banco.put(coisa.getId(), coisa));
+        removidas.forEach(coisa -> banco.remove(coisa.getId()));
+        persistidas.clear();
+        removidas.clear();
+    }
+
+    private Object consulta() {
+        final Map<String,Object> parametros = new HashMap<>();
+        return proxy(TypedQuery.class, (p, metodo, args) -> {
+            switch (metodo) {
+                case "setParameter":
+                    parametros.put((String) args[0], args[1]);
+                    return p;
+                case "setMaxResults":
+                    return p;
+                case "getResultList":
+                    leituras++;
+                    final Collection<?> ids = 
+                        parametros.containsKey("ids")
+                            ? (Collection<?>) parametros.get("ids")
+                            : new ArrayList<>(banco.keySet());
+                    final List<Coisa> resultado = new ArrayList<>();
+                    for (final Object id : ids) {
+                        final Coisa coisa = 
+                            contexto.getOrDefault(id, banco.get(id));
+                        if(coisa != null){
+                            contexto.put(coisa.getId(), coisa);
+                            resultado.add(coisa);
+                        }
+                    }
+                    return resultado;
+                default:
+                    throw new UnsupportedOperationException(metodo);
+            }
+        });
+    }
+
+    private static SingularAttribute<?,?> atributo(final Field campo) {
+        final String nome = campo.getName();
+        final boolean associacao = campo.getType() == Coisa.class;
+        return proxy(SingularAttribute.class, (p, metodo, args) -> {
+            switch (metodo) {
+                case "getName": 
+                    return nome;
+                case "getJavaType": 
+                    return campo.getType();
+                case "getJavaMember": 
+                    return campo;
+                case "isId": 
+                    return nome.equals("id");
+                case "isVersion": 
+                    return nome.equals("versao");
+                case "isAssociation": 
+                    return associacao;
+                case "isCollection": 
+                    return false;
+                case "getPersistentAttributeType": 
+                    return associacao 
+                            ? Attribute.PersistentAttributeType.MANY_TO_ONE
+                            : Attribute.PersistentAttributeType.BASIC;
+                default: 
+                    throw new UnsupportedOperationException(metodo);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(final Class<?> tipo, final Resposta resposta) {
+        return (T) Proxy.newProxyInstance(
+            EntityManagerFalso.class.getClassLoader(), 
+            new Class<?>[]{tipo}, 
+            (proxy, metodo, args) -> {
+                if(metodo.getDeclaringClass() == Object.class){
+                    switch (metodo.getName()) {
+                        case "equals": 
+                            return proxy == args[0];
+                        case "hashCode": 
+                            return System.identityHashCode(proxy);
+                        default: 
+                            return tipo.getSimpleName() + " falso";
+                    }
+                }
+                return resposta.responder(proxy, metodo.getName(), args);
+            });
+    }
+}
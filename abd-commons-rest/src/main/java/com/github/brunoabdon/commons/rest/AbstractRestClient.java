@@ -18,29 +18,61 @@ package com.github.brunoabdon.commons.rest;
 
 import java.io.Closeable;
 import java.net.ConnectException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Type;
 import java.net.URI;
-import java.security.NoSuchAlgorithmException;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.ClientRequestFilter;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.InvocationCallback;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
+import com.github.brunoabdon.commons.rest.compressao.CompressaoInterceptor;
+import com.github.brunoabdon.commons.util.cache.CacheLimitado;
+import com.github.brunoabdon.commons.util.cache.EstatisticasCache;
 import com.github.brunoabdon.commons.util.modelo.Identifiable;
 import pl.touk.throwing.ThrowingFunction;
 
+import static com.github.brunoabdon.commons.rest.RESTClientRTException.CIRCUITO_ABERTO;
+import static com.github.brunoabdon.commons.rest.RESTClientRTException.ERRO_GERAL;
+import static com.github.brunoabdon.commons.rest.RESTClientRTException.PRAZO_ESGOTADO;
 import static com.github.brunoabdon.commons.rest.RESTClientRTException.SERVIDOR_FORA;
 
 /**
@@ -50,6 +82,12 @@ import static com.github.brunoabdon.commons.rest.RESTClientRTException.SERVIDOR_
  */
 public class AbstractRestClient <T extends Throwable> implements Closeable{
 
+    private static final Logger LOG = 
+        Logger.getLogger(AbstractRestClient.class.getName());
+    
+    private static final String RESTEASY_CLIENT_BUILDER = 
+        "org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder";
+    
     private final ThrowingFunction<RESTResponseException,Response,T> 
         exceptionDealer;
     
@@ -57,6 +95,78 @@ public class AbstractRestClient <T extends Throwable> implements Closeable{
     
     private Client client;
 
+    private final AtomicInteger requisicoesEmAndamento = new AtomicInteger();
+    
+    private final AtomicInteger picoRequisicoes = new AtomicInteger();
+    
+    private final LongAdder totalRequisicoes = new LongAdder();
+
+    private CacheLimitado<String,RespostaCacheada> cacheRespostas;
+
+    private ConcurrentMap<String,CompletableFuture<Object>> getsEmAndamento;
+
+    private ScheduledExecutorService agendadorLotes;
+
+    private int tamanhoMaximoLote;
+
+    private Duration janelaLote;
+
+    private String parametroIdLote;
+
+    private final Map<String,Lote<?>> lotesAbertos = new HashMap<>();
+
+    private ConfiguracaoResiliencia resiliencia;
+
+    private Disjuntor disjuntor;
+
+    /**
+     * Uma resposta guardada no cache de respostas, com seu ETag e o tipo em
+     * que ela foi lida.
+     */
+    private static class RespostaCacheada {
+        private final EntityTag tag;
+        private final Type tipo;
+        private final Object entidade;
+
+        private RespostaCacheada(
+                final EntityTag tag, 
+                final Type tipo, 
+                final Object entidade) {
+            this.tag = tag;
+            this.tipo = tipo;
+            this.entidade = entidade;
+        }
+    }
+
+    /**
+     * GETs por id esperando pra serem enviados juntos, numa só requisição à 
+     * coleção.
+     */
+    private static class Lote<E extends Identifiable<? extends Object>> {
+        private final WebTarget colecao;
+        private final GenericType<List<E>> genericType;
+        private final Map<Integer,List<CompletableFuture<E>>> pedidos = 
+            new LinkedHashMap<>();
+
+        private Lote(
+                final WebTarget colecao, 
+                final GenericType<List<E>> genericType) {
+            this.colecao = colecao;
+            this.genericType = genericType;
+        }
+
+        private CompletableFuture<E> adicionar(final int id) {
+            final CompletableFuture<E> future = new CompletableFuture<>();
+            pedidos.computeIfAbsent(id, i -> new ArrayList<>(1)).add(future);
+            return future;
+        }
+
+        private void falhar(final Throwable erro) {
+            pedidos.values().forEach(
+                futures -> futures.forEach(f -> f.completeExceptionally(erro)));
+        }
+    }
+
     public AbstractRestClient(
         final MediaType sendMediaType, 
         final MediaType receiveMediaType,
@@ -72,11 +182,24 @@ public class AbstractRestClient <T extends Throwable> implements Closeable{
         final String userAgent,
         final Consumer<ClientBuilder> clientConfigurator){
         
+        return start(
+            serverUri, 
+            userAgent, 
+            new ConfiguracaoConexao(), 
+            clientConfigurator);
+    }
+
+    protected WebTarget start(
+        final URI serverUri,
+        final String userAgent,
+        final ConfiguracaoConexao configuracao,
+        final Consumer<ClientBuilder> clientConfigurator){
+        
         final WebTarget rootWebTarget;
         
         try {
             
-            final SSLContext sslContext = SSLContext.getDefault();
+            final SSLContext sslContext = sslContext(configuracao);
             
             final ClientRequestFilter uaFilter = 
                 (reqContx) -> {
@@ -91,19 +214,260 @@ public class AbstractRestClient <T extends Throwable> implements Closeable{
                     .sslContext(sslContext)
                     .register(uaFilter);
             
+            final Duration timeoutConexao = configuracao.getTimeoutConexao();
+            if(timeoutConexao != null){
+                cb.connectTimeout(
+                    timeoutConexao.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            
+            final Duration timeoutLeitura = configuracao.getTimeoutLeitura();
+            if(timeoutLeitura != null){
+                cb.readTimeout(
+                    timeoutLeitura.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            
+            configurarPool(cb, configuracao);
+            
+            if(Boolean.TRUE.equals(configuracao.getAceitarCompressao())){
+                cb.register(new CompressaoInterceptor())
+                  .register((ClientRequestFilter) reqContx -> 
+                      reqContx
+                      .getHeaders()
+                      .putSingle(
+                          HttpHeaders.ACCEPT_ENCODING, 
+                          CompressaoInterceptor.GZIP 
+                          + ", " + CompressaoInterceptor.DEFLATE));
+            }
+            
             clientConfigurator.accept(cb);
             
             this.client = cb.build();
             
             rootWebTarget = client.target(serverUri);
 
-        } catch (NoSuchAlgorithmException e) {
+        } catch (GeneralSecurityException e) {
             throw new RESTClientRTException(e);
         }
         
         return rootWebTarget;
     }
 
+    private static SSLContext sslContext(
+            final ConfiguracaoConexao configuracao) 
+                throws GeneralSecurityException {
+        
+        final Integer tamanhoCache = configuracao.getTamanhoCacheSessaoTls();
+        final Duration tempoVida = configuracao.getTempoVidaSessaoTls();
+        
+        if(tamanhoCache == null && tempoVida == null){
+            return SSLContext.getDefault();
+        }
+        
+        //contexto proprio, pra nao mexer no cache de sessoes do default
+        final SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, null, null);
+        
+        final SSLSessionContext sessoes = sslContext.getClientSessionContext();
+        if(tamanhoCache != null){
+            sessoes.setSessionCacheSize(tamanhoCache);
+        }
+        if(tempoVida != null){
+            sessoes.setSessionTimeout((int) tempoVida.getSeconds());
+        }
+        
+        return sslContext;
+    }
+
+    /**
+     * Aplica as configurações de pool de conexões, que não fazem parte da 
+     * API JAX-RS. A implementação padrão reconhece o 
+     * {@code ResteasyClientBuilder} (tamanho do pool, conexões por rota e 
+     * tempo de vida das conexões); com outras implementações, só registra 
+     * um aviso. Subclasses podem sobrescrever pra configurar o conector da 
+     * implementação usada.
+     * 
+     * @param cb o builder do client.
+     * @param configuracao a configuração de conexões.
+     */
+    protected void configurarPool(
+            final ClientBuilder cb, 
+            final ConfiguracaoConexao configuracao) {
+        
+        final boolean configurado = 
+            configuracao.getMaxConexoes() != null
+            || configuracao.getMaxConexoesPorRota() != null
+            || configuracao.getTempoVidaConexao() != null;
+        
+        if(!configurado){
+            return;
+        }
+        
+        if(!isResteasy(cb)){
+            LOG.warning(() -> 
+                "Pool de conexões não configurado: ClientBuilder " 
+                + cb.getClass().getName() + " não suportado.");
+            return;
+        }
+        
+        try {
+            if(configuracao.getMaxConexoes() != null){
+                cb.getClass()
+                  .getMethod("connectionPoolSize", int.class)
+                  .invoke(cb, configuracao.getMaxConexoes());
+            }
+            if(configuracao.getMaxConexoesPorRota() != null){
+                cb.getClass()
+                  .getMethod("maxPooledPerRoute", int.class)
+                  .invoke(cb, configuracao.getMaxConexoesPorRota());
+            }
+            if(configuracao.getTempoVidaConexao() != null){
+                cb.getClass()
+                  .getMethod("connectionTTL", long.class, TimeUnit.class)
+                  .invoke(
+                      cb, 
+                      configuracao.getTempoVidaConexao().toMillis(), 
+                      TimeUnit.MILLISECONDS);
+            }
+        } catch (final NoSuchMethodException 
+                        | IllegalAccessException 
+                        | InvocationTargetException e) {
+            LOG.log(Level.WARNING, "Erro ao configurar pool de conexões.", e);
+        }
+    }
+
+    private static boolean isResteasy(final ClientBuilder cb) {
+        for(Class<?> c = cb.getClass(); c != null; c = c.getSuperclass()){
+            if(c.getName().equals(RESTEASY_CLIENT_BUILDER)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Define a política de resiliência das requisições síncronas: novas 
+     * tentativas, disjuntor e prazo. O disjuntor também vale pras 
+     * requisições assíncronas.
+     * 
+     * @param configuracao a política de resiliência.
+     */
+    protected void configurarResiliencia(
+            final ConfiguracaoResiliencia configuracao) {
+        
+        this.resiliencia = configuracao;
+        
+        final Double taxaFalhas = configuracao.getTaxaFalhasDisjuntor();
+        this.disjuntor = 
+            taxaFalhas == null 
+                ? null 
+                : new Disjuntor(
+                    taxaFalhas, 
+                    configuracao.getJanelaDisjuntor(), 
+                    configuracao.getTempoDisjuntorAberto());
+    }
+
+    /**
+     * Liga o cache de respostas dos GETs. As respostas que vierem com ETag 
+     * são guardadas já convertidas, por URI e tipo aceito; os GETs seguintes
+     * pro mesmo URI mandam {@code If-None-Match} e, se o servidor responder 
+     * {@code 304 Not Modified}, devolvem a entidade guardada sem baixar nem 
+     * converter o corpo de novo.
+     * 
+     * <p>As entidades guardadas são compartilhadas entre as chamadas e devem
+     * ser tratadas como somente leitura.</p>
+     * 
+     * @param tamanhoMaximo a quantidade máxima de respostas guardadas; as 
+     * usadas há mais tempo saem primeiro.
+     * @param ttl por quanto tempo uma resposta fica guardada.
+     */
+    protected void ativarCacheRespostas(
+            final int tamanhoMaximo, 
+            final Duration ttl) {
+        this.cacheRespostas = new CacheLimitado<>(tamanhoMaximo, ttl);
+    }
+
+    /**
+     * @return as estatísticas do cache de respostas, ou {@code null} se ele
+     * não estiver {@link #ativarCacheRespostas(int, Duration) ligado}.
+     */
+    public EstatisticasCache getEstatisticasCacheRespostas() {
+        return cacheRespostas == null 
+                ? null 
+                : cacheRespostas.getEstatisticas();
+    }
+
+    /**
+     * Liga o agrupamento de GETs por id simultâneos: enquanto um 
+     * {@link #get(WebTarget, Class, int) GET} de um recurso estiver em 
+     * andamento, os outros GETs do mesmo recurso esperam por ele e recebem o 
+     * mesmo resultado, em vez de fazer outra requisição.
+     * 
+     * <p>Se a requisição falhar, todos os que esperavam recebem a exceção 
+     * levantada pelo tratador de exceções do client. A entidade devolvida é
+     * compartilhada e deve ser tratada como somente leitura.</p>
+     */
+    protected void ativarAgrupamentoGets() {
+        this.getsEmAndamento = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Liga o envio em lote dos {@link #getEmLote(WebTarget, GenericType, int) 
+     * GETs por id}: os ids pedidos à mesma coleção dentro de uma janela de 
+     * tempo são buscados numa requisição só, passando cada id como um 
+     * parâmetro de query (por exemplo, {@code ?id=1&id=2}). O lote é 
+     * enviado quando a janela acaba ou quando ele enche, o que vier antes.
+     * 
+     * @param tamanhoMaximo quantos ids diferentes cabem num lote.
+     * @param janela quanto tempo o primeiro id de um lote espera pelos 
+     * outros.
+     * @param parametroId o nome do parâmetro de query dos ids.
+     */
+    protected void ativarLotesGets(
+            final int tamanhoMaximo, 
+            final Duration janela,
+            final String parametroId) {
+        
+        if(tamanhoMaximo < 1){
+            throw new IllegalArgumentException(
+                "Tamanho máximo de lote inválido: " + tamanhoMaximo);
+        }
+        
+        this.tamanhoMaximoLote = tamanhoMaximo;
+        this.janelaLote = janela;
+        this.parametroIdLote = parametroId;
+        this.agendadorLotes = 
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread thread = new Thread(r, "abd-rest-lotes");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * @return quantas requisições deste client estão esperando resposta 
+     * agora, do envio até a chegada do status e dos cabeçalhos. É uma 
+     * contagem de requisições, não de conexões: não diz quantas conexões o
+     * pool tem abertas ou emprestadas.
+     */
+    public int getRequisicoesAguardandoResposta() {
+        return requisicoesEmAndamento.get();
+    }
+
+    /**
+     * @return o maior número de requisições esperando resposta ao mesmo 
+     * tempo já visto neste client.
+     */
+    public int getPicoRequisicoes() {
+        return picoRequisicoes.get();
+    }
+
+    /**
+     * @return quantas requisições este client já fez.
+     */
+    public long getTotalRequisicoes() {
+        return totalRequisicoes.sum();
+    }
+
     protected <E,F> List<E> get(
             final BiFunction<WebTarget, F, WebTarget> fillParams,
             final GenericType<List<E>> genericType,
@@ -112,21 +476,17 @@ public class AbstractRestClient <T extends Throwable> implements Closeable{
             final F filtro) 
                 throws T {
         
-        final List<E> entities;
-        
-        final Response response = 
-            requestOperation(
+        return getComCache(
                 fillParams.apply(webTarget, filtro), 
-                Invocation.Builder::buildGet,
-                mediaType);
-        
-        try {
-            entities = response.readEntity(genericType);
-        } catch (ProcessingException pe){
-            throw new RESTClientRTException(pe);
-        }
-        
-        return entities;
+                mediaType, 
+                genericType.getType(),
+                response -> {
+                    try {
+                        return response.readEntity(genericType);
+                    } catch (ProcessingException pe){
+                        throw new RESTClientRTException(pe);
+                    }
+                });
     }
     
     protected <E extends Identifiable<? extends Object>> E get(
@@ -135,15 +495,370 @@ public class AbstractRestClient <T extends Throwable> implements Closeable{
         final int id) 
             throws T{
 
+        final WebTarget webTarget = baseWebTarget.resolveTemplate("id", id);
+        
+        return getsEmAndamento == null
+                ? getComCache(
+                    webTarget, 
+                    receiveMediaType, 
+                    klass,
+                    response -> readEntity(response, klass))
+                : getAgrupado(webTarget, klass);
+    }
+
+    /**
+     * Faz o GET, ou espera por um GET igual que já esteja em andamento.
+     */
+    @SuppressWarnings("unchecked")
+    private <E> E getAgrupado(
+            final WebTarget webTarget,
+            final Class<E> klass) throws T {
+        
+        final String chave = 
+            chaveCache(webTarget, receiveMediaType) + " " + klass.getName();
+        
+        final CompletableFuture<Object> novo = new CompletableFuture<>();
+        
+        final CompletableFuture<Object> emAndamento = 
+            getsEmAndamento.putIfAbsent(chave, novo);
+        
+        if(emAndamento != null){
+            try {
+                return (E) emAndamento.join();
+            } catch (final CompletionException e){
+                final Throwable causa = e.getCause();
+                if(causa instanceof RuntimeException){
+                    throw (RuntimeException) causa;
+                } else if(causa instanceof Error){
+                    throw (Error) causa;
+                }
+                throw (T) causa;
+            }
+        }
+        
+        final E entidade;
+        try {
+            entidade = 
+                getComCache(
+                    webTarget, 
+                    receiveMediaType, 
+                    klass,
+                    response -> readEntity(response, klass));
+        } catch (final Throwable t){
+            getsEmAndamento.remove(chave, novo);
+            novo.completeExceptionally(t);
+            throw t;
+        }
+        
+        getsEmAndamento.remove(chave, novo);
+        novo.complete(entidade);
+        
+        return entidade;
+    }
+
+    /**
+     * Faz um GET, usando o cache de respostas se ele estiver 
+     * {@link #ativarCacheRespostas(int, Duration) ligado}. Uma resposta 
+     * guardada só é reaproveitada se tiver sido lida no mesmo {@code tipo}.
+     */
+    @SuppressWarnings("unchecked")
+    private <X> X getComCache(
+            final WebTarget webTarget,
+            final MediaType mediaType,
+            final Type tipo,
+            final Function<Response,X> leitor) throws T {
+        
+        if(cacheRespostas == null){
+            return leitor.apply(
+                requestOperation(
+                    webTarget, 
+                    Invocation.Builder::buildGet, 
+                    mediaType, 
+                    true));
+        }
+        
+        final String chave = chaveCache(webTarget, mediaType);
+        
+        final RespostaCacheada guardada = cacheRespostas.get(chave);
+        
+        final RespostaCacheada cacheada = 
+            guardada != null && guardada.tipo.equals(tipo) 
+                ? guardada 
+                : null;
+        
+        //so um GET condicional pode receber 304
         final Response response = 
             requestOperation(
-                baseWebTarget.resolveTemplate("id", id), 
-                Invocation.Builder::buildGet,
-                receiveMediaType);
+                webTarget, 
+                b -> cacheada == null 
+                        ? b.buildGet() 
+                        : b.header(HttpHeaders.IF_NONE_MATCH, cacheada.tag)
+                           .buildGet(),
+                mediaType,
+                true,
+                cacheada != null);
         
-        return readEntity(response, klass);
+        if(cacheada != null 
+                && response.getStatus() 
+                    == Response.Status.NOT_MODIFIED.getStatusCode()){
+            response.close();
+            return (X) cacheada.entidade;
+        }
+        
+        final X entidade = leitor.apply(response);
+        
+        final EntityTag tag = response.getEntityTag();
+        if(tag != null){
+            cacheRespostas.put(
+                chave, new RespostaCacheada(tag, tipo, entidade));
+        } else if(guardada != null){
+            cacheRespostas.invalidate(chave);
+        }
+        
+        return entidade;
+    }
+
+    private void invalidarCache(final WebTarget webTarget) {
+        if(cacheRespostas != null){
+            cacheRespostas.invalidate(chaveCache(webTarget, receiveMediaType));
+        }
+    }
+
+    private static String chaveCache(
+            final WebTarget webTarget, 
+            final MediaType mediaType) {
+        return webTarget.getUri() + " " + mediaType;
+    }
+    
+    /**
+     * Busca uma entidade pelo id junto com as outras buscas feitas à mesma 
+     * coleção no mesmo intervalo, numa só requisição. Precisa que o envio em
+     * lote esteja {@link #ativarLotesGets(int, Duration, String) ligado}.
+     * 
+     * <p>Se a entidade não vier na resposta, a busca falha com a exceção 
+     * que o tratador de exceções do client levantar pra um 
+     * {@code 404 Not Found} (ou termina com {@code null}, se ele não 
+     * levantar nenhuma). Se a requisição falhar, todas as buscas do lote 
+     * falham.</p>
+     * 
+     * @param colecaoWebTarget o alvo da coleção, que aceita os ids como 
+     * parâmetros de query.
+     * @param genericType o tipo da lista devolvida pela coleção.
+     * @param id o id da entidade.
+     * @return a entidade.
+     */
+    protected <E extends Identifiable<? extends Object>> CompletionStage<E> 
+            getEmLote(
+                final WebTarget colecaoWebTarget, 
+                final GenericType<List<E>> genericType,
+                final int id) {
+        
+        if(agendadorLotes == null){
+            throw new IllegalStateException("Envio em lote desligado.");
+        }
+        
+        final String chave = 
+            colecaoWebTarget.getUri() + " " + genericType.getType();
+        
+        final CompletableFuture<E> future;
+        Lote<E> cheio = null;
+        
+        synchronized (lotesAbertos) {
+            @SuppressWarnings("unchecked")
+            Lote<E> lote = (Lote<E>) lotesAbertos.get(chave);
+            
+            if(lote == null){
+                final Lote<E> novo = new Lote<>(colecaoWebTarget, genericType);
+                lotesAbertos.put(chave, novo);
+                agendadorLotes.schedule(
+                    () -> fecharLote(chave, novo), 
+                    janelaLote.toNanos(), 
+                    TimeUnit.NANOSECONDS);
+                lote = novo;
+            }
+            
+            future = lote.adicionar(id);
+            
+            if(lote.pedidos.size() >= tamanhoMaximoLote){
+                lotesAbertos.remove(chave);
+                cheio = lote;
+            }
+        }
+        
+        if(cheio != null){
+            enviarLote(cheio);
+        }
+        
+        return future;
+    }
+
+    private void fecharLote(final String chave, final Lote<?> lote) {
+        final boolean aberto;
+        synchronized (lotesAbertos) {
+            //se encheu antes da janela acabar, ja foi enviado
+            aberto = lotesAbertos.remove(chave, lote);
+        }
+        if(aberto){
+            enviarLote(lote);
+        }
+    }
+
+    /**
+     * Envia a requisição de um lote fechado. Se ela nem chegar a ser 
+     * enviada (por exemplo, com o disjuntor aberto), todas as buscas do 
+     * lote falham com a exceção levantada, em vez de ficarem esperando pra 
+     * sempre.
+     */
+    private <E extends Identifiable<? extends Object>> void enviarLote(
+            final Lote<E> lote) {
+        
+        final CompletionStage<Response> resposta;
+        try {
+            final WebTarget webTarget = 
+                lote.colecao.queryParam(
+                    parametroIdLote, lote.pedidos.keySet().toArray());
+            
+            resposta = 
+                requestOperationAsync(
+                    webTarget, 
+                    Invocation.Builder::buildGet, 
+                    receiveMediaType);
+        } catch (final RuntimeException | Error e) {
+            LOG.log(Level.FINE, "Erro ao enviar lote.", e);
+            lote.falhar(e);
+            if(e instanceof Error){
+                throw e;
+            }
+            return;
+        }
+        
+        resposta
+            .thenApply(response -> {
+                try {
+                    return response.readEntity(lote.genericType);
+                } catch (ProcessingException pe){
+                    throw new RESTClientRTException(pe);
+                }
+            })
+            .whenComplete((entidades, erro) -> {
+                if(erro != null){
+                    lote.falhar(erro);
+                } else {
+                    try {
+                        distribuir(lote, entidades);
+                    } catch (final RuntimeException e) {
+                        lote.falhar(e);
+                    }
+                }
+            });
+    }
+
+    private <E extends Identifiable<? extends Object>> void distribuir(
+            final Lote<E> lote, 
+            final List<E> entidades) {
+        
+        final Map<String,E> porId = new HashMap<>();
+        for (final E entidade : entidades) {
+            porId.put(String.valueOf(entidade.getId()), entidade);
+        }
+        
+        lote.pedidos.forEach((id, futures) -> {
+            final E entidade = porId.get(String.valueOf(id));
+            if(entidade != null){
+                futures.forEach(f -> f.complete(entidade));
+            } else {
+                try {
+                    exceptionDealer.apply(
+                        new RESTResponseException(Response.Status.NOT_FOUND));
+                    futures.forEach(f -> f.complete(null));
+                } catch (final Throwable t) {
+                    futures.forEach(f -> f.completeExceptionally(t));
+                }
+            }
+        });
     }
     
+    protected <E extends Identifiable<? extends Object>> CompletionStage<E> 
+            getAsync(
+                final WebTarget baseWebTarget, 
+                final Class<E> klass,
+                final int id) {
+
+        return requestOperationAsync(
+                    baseWebTarget.resolveTemplate("id", id), 
+                    Invocation.Builder::buildGet,
+                    receiveMediaType)
+                .thenApply(response -> readEntity(response, klass));
+    }
+
+    protected <E,F> CompletionStage<List<E>> getAsync(
+            final BiFunction<WebTarget, F, WebTarget> fillParams,
+            final GenericType<List<E>> genericType,
+            final MediaType mediaType,
+            final WebTarget webTarget,
+            final F filtro) {
+        
+        return requestOperationAsync(
+                    fillParams.apply(webTarget, filtro), 
+                    Invocation.Builder::buildGet,
+                    mediaType)
+                .thenApply(response -> {
+                    try {
+                        return response.readEntity(genericType);
+                    } catch (ProcessingException pe){
+                        throw new RESTClientRTException(pe);
+                    }
+                });
+    }
+
+    protected <E extends Identifiable<? extends Object>> CompletionStage<E> 
+            updateAsync(
+                final WebTarget baseWebTarget, 
+                final E entidade,
+                final Class<E> klass) {
+
+        return postAsync(
+            baseWebTarget.resolveTemplate("id", entidade.getId()), 
+            entidade, 
+            klass);
+    }
+
+    protected <E extends Identifiable<? extends Object>> CompletionStage<E> 
+            createAsync(
+                final WebTarget baseWebTarget, 
+                final E entidade,
+                final Class<? extends E> klass) {
+
+        return postAsync(baseWebTarget,entidade,klass);
+    }
+
+    protected CompletionStage<Void> deleteAsync(
+            final WebTarget baseWebTarget,
+            final int id) {
+        
+        return requestOperationAsync(
+                    baseWebTarget.resolveTemplate("id", id), 
+                    Invocation.Builder::buildDelete,
+                    MediaType.WILDCARD_TYPE)
+                .thenAccept(Response::close);
+    }
+
+    protected <E extends Identifiable<? extends Object>> CompletionStage<E> 
+            postAsync(
+                final WebTarget webTarget,
+                final E entidade,
+                final Class<? extends E> klass) {
+        
+        final Entity<E> entity = 
+            Entity.entity(entidade, sendMediaType);
+    
+        return requestOperationAsync(
+                    webTarget, 
+                    b -> b.buildPost(entity), 
+                    receiveMediaType)
+                .thenApply(response -> readEntity(response, klass));
+    }
+
     protected <E extends Identifiable<? extends Object>> E update(
             final WebTarget baseWebTarget, 
             final E entidade,
@@ -170,10 +885,15 @@ public class AbstractRestClient <T extends Throwable> implements Closeable{
             int id) 
             throws T {
         
+        final WebTarget webTarget = baseWebTarget.resolveTemplate("id", id);
+        
+        invalidarCache(webTarget);
+        
         requestOperation(
-            baseWebTarget.resolveTemplate("id", id), 
+            webTarget, 
             Invocation.Builder::buildDelete,
-            MediaType.WILDCARD_TYPE);
+            MediaType.WILDCARD_TYPE,
+            true);
     }
     
     protected <E extends Identifiable<? extends Object>> E post(
@@ -184,6 +904,8 @@ public class AbstractRestClient <T extends Throwable> implements Closeable{
         
         final Entity<E> entity = 
             Entity.entity(entidade, sendMediaType);
+        
+        invalidarCache(webTarget);
     
         final Response response = 
             requestOperation(
@@ -194,11 +916,98 @@ public class AbstractRestClient <T extends Throwable> implements Closeable{
         return readEntity(response, klass);
     }
 
+    /**
+     * Versão assíncrona de 
+     * {@link #requestOperation(WebTarget, Function, MediaType)}. Respostas 
+     * fora da família 200 passam pelo tratador de exceções do client, como 
+     * na versão síncrona.
+     * 
+     * @param webTarget o alvo da requisição.
+     * @param invocFunc monta a requisição.
+     * @param acceptedMediaType o tipo de resposta aceito.
+     * @return a resposta, que falha com {@link CompletionException} tendo 
+     * como causa a exceção levantada pelo tratador de exceções, ou com 
+     * {@link RESTClientRTException}.
+     */
+    protected CompletionStage<Response> requestOperationAsync(
+            final WebTarget webTarget,
+            final Function<Invocation.Builder,Invocation> invocFunc,
+            final MediaType acceptedMediaType) {
+        
+        final Invocation.Builder resourceBuilder = 
+                webTarget
+                    .request()
+                    .accept(acceptedMediaType);
+        
+        final Invocation invocation = invocFunc.apply(resourceBuilder);
+        
+        return invokeAsync(invocation)
+                .handle((response, throwable) -> {
+                    
+                    if(throwable == null){
+                        return response;
+                    }
+                    
+                    final Throwable causa = 
+                        throwable instanceof CompletionException 
+                            ? throwable.getCause() 
+                            : throwable;
+                    
+                    if(!(causa instanceof RESTResponseException)){
+                        throw throwable instanceof CompletionException
+                                ? (CompletionException) throwable
+                                : new CompletionException(causa);
+                    }
+                    
+                    try {
+                        return exceptionDealer.apply(
+                            (RESTResponseException) causa);
+                    } catch (final Throwable t) {
+                        throw new CompletionException(t);
+                    }
+                });
+    }
+
     protected Response requestOperation(
             final WebTarget webTarget,
             final Function<Invocation.Builder,Invocation> invocFunc,
             final MediaType acceptedMediaType)
                 throws T{
+        
+        return requestOperation(webTarget, invocFunc, acceptedMediaType, false);
+    }
+
+    /**
+     * Faz uma requisição, passando as respostas fora da família 200 pelo 
+     * tratador de exceções do client.
+     * 
+     * @param webTarget o alvo da requisição.
+     * @param invocFunc monta a requisição.
+     * @param acceptedMediaType o tipo de resposta aceito.
+     * @param idempotente se a requisição pode ser repetida sem efeitos 
+     * colaterais, segundo a {@link #configurarResiliencia(
+     * ConfiguracaoResiliencia) política de resiliência}.
+     * @return a resposta.
+     * @throws T se a resposta não for da família 200.
+     */
+    protected Response requestOperation(
+            final WebTarget webTarget,
+            final Function<Invocation.Builder,Invocation> invocFunc,
+            final MediaType acceptedMediaType,
+            final boolean idempotente)
+                throws T{
+
+        return requestOperation(
+            webTarget, invocFunc, acceptedMediaType, idempotente, false);
+    }
+
+    private Response requestOperation(
+            final WebTarget webTarget,
+            final Function<Invocation.Builder,Invocation> invocFunc,
+            final MediaType acceptedMediaType,
+            final boolean idempotente,
+            final boolean aceitaNaoModificado)
+                throws T{
 
         final Invocation.Builder resourceBuilder = 
                 webTarget
@@ -210,7 +1019,7 @@ public class AbstractRestClient <T extends Throwable> implements Closeable{
         Response response;
                 
         try {
-            response = invoke(invocation);
+            response = invoke(invocation, idempotente, aceitaNaoModificado);
         } catch (RESTResponseException e){
             response = exceptionDealer.apply(e);
         }
@@ -229,30 +1038,298 @@ public class AbstractRestClient <T extends Throwable> implements Closeable{
      */
     protected Response invoke(final Invocation invocation) 
                 throws RESTResponseException {
-    
-        final Response response; 
+        return invoke(invocation, false);
+    }
+
+    /**
+     * Chama o método {@link Invocation#invoke() invoke} do Invocation 
+     * passado, tratando as exceções e aplicando a 
+     * {@link #configurarResiliencia(ConfiguracaoResiliencia) política de 
+     * resiliência}.
+     * 
+     * @param invocation Uma instância qualquer de {@link Invocation}.
+     * @param idempotente se a requisição pode ser repetida depois de uma 
+     * falha de comunicação ou de uma resposta {@code 502}, {@code 503} ou 
+     * {@code 504}.
+     * @return A resposta da requisição.
+     * @throws RESTResponseException se a resposta da requisição não for
+     * da família 200.
+     * @throws RESTClientRTException se a requisição não puder ser feita, 
+     * com o código {@link RESTClientRTException#CIRCUITO_ABERTO} se o 
+     * disjuntor estiver aberto, ou 
+     * {@link RESTClientRTException#PRAZO_ESGOTADO} se o prazo acabar.
+     */
+    protected Response invoke(
+            final Invocation invocation, 
+            final boolean idempotente) 
+                throws RESTResponseException {
+        return invoke(invocation, idempotente, false);
+    }
+
+    private Response invoke(
+            final Invocation invocation, 
+            final boolean idempotente,
+            final boolean aceitaNaoModificado) 
+                throws RESTResponseException {
+        
+        if(resiliencia == null){
+            return verificarStatus(
+                tentar(invocation, Long.MAX_VALUE), aceitaNaoModificado);
+        }
+        
+        final long inicio = System.nanoTime();
+        
+        final long prazo = 
+            resiliencia.getPrazo() == null 
+                ? Long.MAX_VALUE 
+                : resiliencia.getPrazo().toNanos();
+        
+        for(int tentativa = 1; ; tentativa++){
+            
+            if(disjuntor != null && !disjuntor.permitir()){
+                throw new RESTClientRTException(
+                    "Circuito aberto.", CIRCUITO_ABERTO);
+            }
+            
+            final Response response;
+            try {
+                response = tentar(invocation, restante(inicio, prazo));
+            } catch (final RESTClientRTException e){
+                registrarResultado(true);
+                if(!podeRepetir(e, idempotente) 
+                        || !esperar(tentativa, inicio, prazo)){
+                    throw e;
+                }
+                continue;
+            } catch (final RuntimeException | Error e){
+                //senao o disjuntor fica meio aberto pra sempre
+                registrarResultado(true);
+                throw e;
+            }
+            
+            final int status = response.getStatus();
+            
+            registrarResultado(status >= 500);
+            
+            if(!idempotente 
+                    || !isRepetivel(status) 
+                    || !esperar(tentativa, inicio, prazo)){
+                return verificarStatus(response, aceitaNaoModificado);
+            }
+            
+            response.close();
+        }
+    }
+
+    /**
+     * Faz uma tentativa da requisição, esperando a resposta no máximo pelo 
+     * tempo dado.
+     */
+    private Response tentar(
+            final Invocation invocation, 
+            final long restante) {
+        
+        if(restante <= 0){
+            throw new RESTClientRTException(
+                "Prazo esgotado.", PRAZO_ESGOTADO);
+        }
+        
+        iniciarRequisicao();
+        
         try {
-            response = invocation.invoke();
-        } catch (ProcessingException pe){
-            Throwable cause = pe.getCause();
-            if(cause instanceof ConnectException){
-                throw 
-                    new RESTClientRTException(
-                            "Servidor fora do ar.",
-                            pe,
-                            SERVIDOR_FORA);
+            if(restante == Long.MAX_VALUE){
+                return invocation.invoke();
             }
-            throw new RESTClientRTException("Impossível lidar.",pe);
+            
+            final Future<Response> future = invocation.submit();
+            try {
+                return future.get(restante, TimeUnit.NANOSECONDS);
+            } catch (final TimeoutException e){
+                future.cancel(true);
+                throw new RESTClientRTException(
+                    "Prazo esgotado.", e, PRAZO_ESGOTADO);
+            } catch (final InterruptedException e){
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new RESTClientRTException(e);
+            } catch (final ExecutionException e){
+                final Throwable causa = e.getCause();
+                throw causa instanceof ProcessingException
+                        ? traduzir((ProcessingException) causa)
+                        : new RESTClientRTException(causa);
+            }
+        } catch (ProcessingException pe){
+            throw traduzir(pe);
+        } finally {
+            requisicoesEmAndamento.decrementAndGet();
+        }
+    }
+
+    private void registrarResultado(final boolean falhou) {
+        if(disjuntor != null){
+            disjuntor.registrar(falhou);
+        }
+    }
+
+    private static boolean podeRepetir(
+            final RESTClientRTException e, 
+            final boolean idempotente) {
+        //falha de conexao: a requisicao nem chegou no servidor
+        return e.getCode() == SERVIDOR_FORA
+                || (idempotente && e.getCode() == ERRO_GERAL);
+    }
+
+    private static boolean isRepetivel(final int status) {
+        return status == Response.Status.BAD_GATEWAY.getStatusCode()
+                || status == Response.Status.SERVICE_UNAVAILABLE.getStatusCode()
+                || status == Response.Status.GATEWAY_TIMEOUT.getStatusCode();
+    }
+
+    private static long restante(final long inicio, final long prazo) {
+        return prazo == Long.MAX_VALUE 
+                ? Long.MAX_VALUE 
+                : prazo - (System.nanoTime() - inicio);
+    }
+
+    /**
+     * Espera antes da próxima tentativa, um tempo sorteado entre zero e a 
+     * espera exponencial da tentativa.
+     * 
+     * @return se deve tentar de novo: {@code false} se as tentativas 
+     * acabaram ou se a espera passaria do prazo.
+     */
+    private boolean esperar(
+            final int tentativa, 
+            final long inicio, 
+            final long prazo) {
+        
+        final Integer maxTentativas = resiliencia.getMaxTentativas();
+        if(maxTentativas == null || tentativa >= maxTentativas){
+            return false;
         }
         
+        final long limite = 
+            resiliencia.getEsperaMaxima().toNanos();
+        
+        final long teto = 
+            Math.min(
+                limite, 
+                resiliencia.getEsperaInicial().toNanos() 
+                    << Math.min(tentativa - 1, 20));
+        
+        final long espera = 
+            teto <= 0 ? 0 : ThreadLocalRandom.current().nextLong(teto + 1);
+        
+        if(espera >= restante(inicio, prazo)){
+            return false;
+        }
+        
+        try {
+            TimeUnit.NANOSECONDS.sleep(espera);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        
+        return true;
+    }
+
+    /**
+     * Versão assíncrona de {@link #invoke(Invocation)}: 
+     * {@link Invocation#submit(InvocationCallback) submete} a requisição 
+     * sem bloquear a thread chamadora.
+     * 
+     * @param invocation Uma instância qualquer de {@link Invocation}.
+     * @return A resposta da requisição, que falha com 
+     * {@link RESTResponseException} se a resposta não for da família 200, 
+     * ou com {@link RESTClientRTException} se a requisição não puder ser 
+     * feita.
+     */
+    protected CompletionStage<Response> invokeAsync(
+            final Invocation invocation) {
+        
+        final CompletableFuture<Response> future = new CompletableFuture<>();
+        
+        if(disjuntor != null && !disjuntor.permitir()){
+            future.completeExceptionally(
+                new RESTClientRTException(
+                    "Circuito aberto.", CIRCUITO_ABERTO));
+            return future;
+        }
+        
+        iniciarRequisicao();
+        
+        try {
+            invocation.submit(new InvocationCallback<Response>() {
+                @Override
+                public void completed(final Response response) {
+                    requisicoesEmAndamento.decrementAndGet();
+                    registrarResultado(response.getStatus() >= 500);
+                    try {
+                        future.complete(verificarStatus(response, false));
+                    } catch (final RESTResponseException e) {
+                        future.completeExceptionally(e);
+                    }
+                }
+    
+                @Override
+                public void failed(final Throwable throwable) {
+                    requisicoesEmAndamento.decrementAndGet();
+                    registrarResultado(true);
+                    future.completeExceptionally(
+                        throwable instanceof ProcessingException
+                            ? traduzir((ProcessingException) throwable)
+                            : throwable);
+                }
+            });
+        } catch (final ProcessingException pe){
+            requisicoesEmAndamento.decrementAndGet();
+            registrarResultado(true);
+            future.completeExceptionally(traduzir(pe));
+        } catch (final RuntimeException | Error e){
+            requisicoesEmAndamento.decrementAndGet();
+            registrarResultado(true);
+            throw e;
+        }
+        
+        return future;
+    }
+
+    private void iniciarRequisicao() {
+        final int emAndamento = requisicoesEmAndamento.incrementAndGet();
+        picoRequisicoes.accumulateAndGet(emAndamento, Math::max);
+        totalRequisicoes.increment();
+    }
+
+    private static Response verificarStatus(
+            final Response response,
+            final boolean aceitaNaoModificado) 
+                throws RESTResponseException {
+        
         final Response.StatusType statusInfo = response.getStatusInfo();
 
-        if(statusInfo.getFamily() != Response.Status.Family.SUCCESSFUL){
+        if(statusInfo.getFamily() != Response.Status.Family.SUCCESSFUL
+                && !(aceitaNaoModificado 
+                    && statusInfo.getStatusCode() 
+                        == Response.Status.NOT_MODIFIED.getStatusCode())){
             throw new RESTResponseException(statusInfo);
         }
         
         return response;
     }
+
+    private static RESTClientRTException traduzir(
+            final ProcessingException pe) {
+        
+        final Throwable cause = pe.getCause();
+        
+        return cause instanceof ConnectException
+                ? new RESTClientRTException(
+                        "Servidor fora do ar.",
+                        pe,
+                        SERVIDOR_FORA)
+                : new RESTClientRTException("Impossível lidar.",pe);
+    }
     
     protected <E> E readEntity(
             final Response response, 
@@ -271,6 +1348,9 @@ public class AbstractRestClient <T extends Throwable> implements Closeable{
     
     @Override
     public void close() {
+        if(agendadorLotes != null){
+            agendadorLotes.shutdown();
+        }
         this.client.close();
     }
 }
@@ -17,28 +17,84 @@
 package com.github.brunoabdon.commons.rest;
 
 import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
+import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
 import java.net.URI;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
+import javax.transaction.TransactionalException;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.NotFoundException;
+import javax.ws.rs.PATCH;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.MessageBodyReader;
 
 import com.github.brunoabdon.commons.dal.DalException;
 import com.github.brunoabdon.commons.dal.Dao;
 import com.github.brunoabdon.commons.dal.EntityNotFoundException;
+import com.github.brunoabdon.commons.dal.ResultadoLote;
+import com.github.brunoabdon.commons.dal.ResultadoUpsert;
 import com.github.brunoabdon.commons.util.modelo.Identifiable;
 
+import org.apache.commons.lang3.reflect.TypeUtils;
+
 /**
  * Classe base para resources implementando operações básicas de CRUD.
  * 
+ * <p>Além da atualização com a entidade inteira ({@code POST} ou 
+ * {@code PUT} no id), aceita {@code PATCH} com um 
+ * <a href="https://tools.ietf.org/html/rfc7396">JSON Merge Patch</a>: só as
+ * propriedades presentes no documento são 
+ * {@link Dao#atualizarPropriedades(Object, Identifiable, Set) atualizadas},
+ * e as com {@code null} ficam nulas. Objetos aninhados substituem o valor 
+ * inteiro da propriedade, sem mesclar recursivamente. Os nomes no JSON 
+ * devem ser os das propriedades da entidade, e só as que o {@link Dao} 
+ * libera pra atualização parcial são aceitas. O documento é lido pra 
+ * memória, com até {@link #getTamanhoMaximoPatch()} bytes.</p>
+ * 
+ * <p>Em {@code _lote}, cria ({@code POST} de uma lista), atualiza 
+ * ({@code PUT} de um objeto com as entidades pelos seus ids) e deleta 
+ * ({@code DELETE ?id=a&id=b}) várias entidades numa requisição só, com as 
+ * operações em lote do {@link Dao}. A resposta é um 
+ * {@code 207 Multi-Status} com um {@link StatusItemLote} por item, e um 
+ * item que não passa na validação não impede os outros. Por padrão, o lote 
+ * inteiro roda na transação da requisição, e um erro do banco ao gravá-lo 
+ * desfaz tudo e responde {@code 409}; veja {@link #getTamanhoParteLote()} e
+ * {@link #executarParte(ParteLote)} pra dividi-lo em transações próprias.
+ * Os ids do lote não podem se repetir; os do corpo do {@code PUT} são 
+ * convertidos com {@link #fromPathId(String)}.</p>
+ * 
  * @param <E> O tipo da  entidade criada, lida, atualizada e deletada.
  * @param <Key> O tipo da chave do elemento.
  *
@@ -54,6 +110,44 @@ public abstract class AbstractRestCrud<E extends Identifiable<Key>,Key,PathKey>
         Response.status(BAD_REQUEST)
                 .entity("com.github.brunoabdon.commons.rest.MISSING_ENTITY")
                 .build();
+
+    public static final String APPLICATION_MERGE_PATCH_JSON = 
+        "application/merge-patch+json";
+
+    public static final int MULTI_STATUS = 207;
+
+    /**
+     * Quantidade máxima de itens numa operação em lote.
+     */
+    protected static final int LIMITE_MAXIMO_LOTE = 10000;
+
+    /**
+     * Tamanho máximo, em bytes, do documento de um {@code PATCH}.
+     */
+    protected static final int TAMANHO_MAXIMO_PATCH = 1024 * 1024;
+
+    private static final Annotation[] SEM_ANOTACOES = new Annotation[0];
+
+    private static final String CORPO_INVALIDO = 
+        "com.github.brunoabdon.commons.rest.CORPO_INVALIDO";
+
+    private static final String ERRO_PARTE_LOTE = 
+        "com.github.brunoabdon.commons.rest.ERRO_PARTE_LOTE";
+
+    /**
+     * Como converter o texto de um id em cada classe de id de caminho, ou 
+     * vazio se a classe não tiver como.
+     */
+    private static final ClassValue<Optional<Function<String,?>>> 
+        CONVERSORES_ID = 
+            new ClassValue<Optional<Function<String,?>>>() {
+                @Override
+                protected Optional<Function<String,?>> computeValue(
+                        final Class<?> tipo) {
+                    return conversorId(tipo);
+                }
+            };
+
     
     @PUT
     @Path("{id}")
@@ -61,29 +155,37 @@ public abstract class AbstractRestCrud<E extends Identifiable<Key>,Key,PathKey>
     public Response criarOuAtualizar(
     		final @PathParam("id") PathKey pathId,
     		final E entity) {
-    	
-    	Response response;
-    	
-    	final Key id = getFullId(pathId);
-    	this.defineChave(entity,id);
-    	
-    	try {
-			getDao().find(id);
-			response = atualizar_(id,entity);
-			
-		} catch (final EntityNotFoundException e) {
-			response = this.criar(entity);
-		} catch (final DalException e) {
-			response = dealWith(e);
-		}
-    	
-    	return response;    	
+        Response response;
+
+        if(entity == null){
+            response = ERROR_MISSING_ENTITY;
+        } else {
+
+            final Key id = getFullId(pathId);
+            this.defineChave(entity,id);
+
+            try {
+                final ResultadoUpsert<E> resultado = 
+                    getDao().upsert(id, entity);
+
+                response = 
+                    resultado.isCriada()
+                        ? Response.created(uriInfo.getAbsolutePath())
+                                  .entity(resultado.getEntity())
+                                  .build()
+                        : Response.ok(resultado.getEntity()).build();
+
+            } catch (final DalException e) {
+                response = dealWith(e);
+            }
+        }
+
+        return response;
     }
 
 	@POST
     @Transactional
     public Response criar(final E entity) {
-
         Response response;
 
         if(entity == null){
@@ -97,11 +199,11 @@ public abstract class AbstractRestCrud<E extends Identifiable<Key>,Key,PathKey>
                 dao.criar(entity);
 
                 final URI uri = 
-            		uriInfo
-            			.getAbsolutePathBuilder()
-            			.path(String.valueOf(entity.getId()))
-            			.build(); 
-                		
+                    uriInfo
+                        .getAbsolutePathBuilder()
+                        .path(String.valueOf(entity.getId()))
+                        .build(); 
+
                 response = 
                     Response.created(uri).entity(entity).build();
 
@@ -118,7 +220,6 @@ public abstract class AbstractRestCrud<E extends Identifiable<Key>,Key,PathKey>
     public Response atualizar(
             final @PathParam("id") PathKey pathId, 
             final E entity) {
-
         Response response;
 
         if(entity == null){
@@ -127,7 +228,7 @@ public abstract class AbstractRestCrud<E extends Identifiable<Key>,Key,PathKey>
         } else {
 
             final Key id = getFullId(pathId);
-            
+        
             response = atualizar_(id, entity);
         }
         return response;
@@ -156,20 +257,138 @@ public abstract class AbstractRestCrud<E extends Identifiable<Key>,Key,PathKey>
 		return response;
 	}
 
+    @PATCH
+    @Path("{id}")
+    @Consumes({APPLICATION_MERGE_PATCH_JSON, MediaType.APPLICATION_JSON})
+    @Transactional
+    public Response atualizarParcialmente(
+            final @PathParam("id") PathKey pathId, 
+            final InputStream corpo) throws IOException {
+        Response response;
+
+        final byte[] patch = lerCorpo(corpo, getTamanhoMaximoPatch());
+
+        if(patch.length == 0){
+            response = ERROR_MISSING_ENTITY;
+
+        } else {
+
+            final Key id = getFullId(pathId);
+
+            final Set<String> propriedades;
+            try {
+                propriedades = ChavesJson.de(patch);
+            } catch (final IllegalArgumentException e) {
+                throw new BadRequestException(CORPO_INVALIDO, e);
+            }
+
+            final E entity = 
+                ler(patch, getTipoEntidade(), getTipoEntidade());
+
+            try {
+                final E persistedEntity = 
+                    getDao().atualizarPropriedades(
+                        id, entity, propriedades);
+
+                response = Response.ok(persistedEntity).build();
+
+            } catch (final EntityNotFoundException ex){
+                throw new NotFoundException(ex);
+            } catch (final DalException e) {
+                log.log(
+                    Level.FINE, 
+                    "Erro ao tentar atualizar parcialmente.", 
+                    e);
+                response =
+                    Response.status(Response.Status.CONFLICT)
+                            .entity(e.getMessage())
+                            .build();
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Lê o corpo inteiro, que fica em memória, recusando com 
+     * {@code 413 Request Entity Too Large} os maiores que o limite.
+     */
+    private static byte[] lerCorpo(final InputStream corpo, final int limite)
+            throws IOException {
+        if(corpo == null){
+            return new byte[0];
+        }
+        final byte[] bytes = corpo.readNBytes(limite + 1);
+        if(bytes.length > limite){
+            throw new WebApplicationException(
+                CORPO_INVALIDO, Response.Status.REQUEST_ENTITY_TOO_LARGE);
+        }
+        return bytes;
+    }
+
+    /**
+     * O tamanho máximo, em bytes, do documento de um {@code PATCH}. O 
+     * documento é lido inteiro pra memória: os nomes das propriedades 
+     * presentes são tirados dele antes de os valores serem lidos com o 
+     * reader da entidade. Por padrão, {@value #TAMANHO_MAXIMO_PATCH}.
+     * 
+     * @return o tamanho máximo do documento.
+     */
+    protected int getTamanhoMaximoPatch() {
+        return TAMANHO_MAXIMO_PATCH;
+    }
+
+    /**
+     * Lê um corpo JSON com o {@link MessageBodyReader} registrado pro tipo.
+     */
+    private <T> T ler(
+            final byte[] json, 
+            final Class<T> type, 
+            final Type genericType) {
+        
+        final MessageBodyReader<T> reader = 
+            providers.getMessageBodyReader(
+                type, 
+                genericType, 
+                SEM_ANOTACOES, 
+                MediaType.APPLICATION_JSON_TYPE);
+        
+        if(reader == null){
+            throw new WebApplicationException(
+                "Sem reader JSON pra " + type, INTERNAL_SERVER_ERROR);
+        }
+        
+        final T valor;
+        try {
+            valor = reader.readFrom(
+                    type, 
+                    genericType, 
+                    SEM_ANOTACOES, 
+                    MediaType.APPLICATION_JSON_TYPE, 
+                    new MultivaluedHashMap<>(), 
+                    new ByteArrayInputStream(json));
+        } catch (final IOException e) {
+            throw new BadRequestException(CORPO_INVALIDO, e);
+        }
+        
+        if(valor == null){
+            throw new BadRequestException(CORPO_INVALIDO);
+        }
+        return valor;
+    }
+
     @DELETE
     @Path("{id}")
     @Transactional
     public Response deletar(@PathParam("id") final PathKey pathId) {
-
         Response response;
 
         final Key id = getFullId(pathId);
-        
+    
         try {
             getDao().deletar(id);
-            
+        
             response = Response.noContent().build();
-            
+        
         } catch(final EntityNotFoundException ex){
             throw new NotFoundException(ex);
         } catch (final DalException e) {
@@ -179,10 +398,366 @@ public abstract class AbstractRestCrud<E extends Identifiable<Key>,Key,PathKey>
                         .entity(e.getMessage())
                         .build();
         }
-        
+    
         return response;
     }
     
+    @POST
+    @Path("_lote")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Transactional
+    public Response criarLote(final byte[] json) {
+        final List<E> entities = lerLista(json);
+        
+        verificarTamanhoLote(entities.size());
+        
+        if(entities.contains(null)){
+            return ERROR_MISSING_ENTITY;
+        }
+        
+        return executarLote(
+            entities, 
+            Identifiable::getId,
+            parte -> getDao().criarTodos(parte), 
+            Response.Status.CREATED);
+    }
+
+    @PUT
+    @Path("_lote")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Transactional
+    public Response atualizarLote(final byte[] json) {
+        final Map<PathKey,E> porPathId = lerMapa(json);
+        
+        verificarTamanhoLote(porPathId.size());
+        
+        if(porPathId.containsValue(null)){
+            return ERROR_MISSING_ENTITY;
+        }
+        
+        final Set<Key> ids = new HashSet<>(porPathId.size() * 2);
+        final List<Map.Entry<Key,E>> entries = 
+            new ArrayList<>(porPathId.size());
+        for (final Map.Entry<PathKey,E> entry : porPathId.entrySet()) {
+            final Key id = getFullId(entry.getKey());
+            verificarIdUnico(ids, id);
+            entries.add(new SimpleEntry<>(id, entry.getValue()));
+        }
+        
+        return executarLote(
+            entries, 
+            Map.Entry::getKey,
+            parte -> {
+                final Map<Key,E> entities = 
+                    new LinkedHashMap<>(parte.size() * 2);
+                parte.forEach(e -> entities.put(e.getKey(), e.getValue()));
+                return getDao().atualizarTodos(entities);
+            }, 
+            Response.Status.OK);
+    }
+
+    @DELETE
+    @Path("_lote")
+    @Transactional
+    public Response deletarLote(final @QueryParam("id") List<PathKey> pathIds){
+        verificarTamanhoLote(pathIds == null ? 0 : pathIds.size());
+        
+        final Set<Key> vistos = new HashSet<>(pathIds.size() * 2);
+        final List<Key> ids = new ArrayList<>(pathIds.size());
+        for (final PathKey pathId : pathIds) {
+            final Key id = getFullId(pathId);
+            verificarIdUnico(vistos, id);
+            ids.add(id);
+        }
+        
+        return executarLote(
+            ids, 
+            id -> id,
+            parte -> getDao().deletarTodos(parte), 
+            Response.Status.NO_CONTENT);
+    }
+
+    private void verificarTamanhoLote(final int tamanho) {
+        if(tamanho < 1 || tamanho > getLimiteMaximoLote()){
+            throw new BadRequestException(
+                "com.github.brunoabdon.commons.rest.LIMITE_INVALIDO");
+        }
+    }
+
+    private static <K> void verificarIdUnico(final Set<K> vistos, final K id){
+        if(!vistos.add(id)){
+            throw new BadRequestException(
+                "com.github.brunoabdon.commons.rest.ID_REPETIDO");
+        }
+    }
+
+    /**
+     * Executa uma operação em lote em partes de no máximo 
+     * {@link #getTamanhoParteLote()} itens, cada uma com 
+     * {@link #executarParte(ParteLote)}, e monta a resposta 
+     * {@value #MULTI_STATUS}. Se uma parte inteira falhar e as partes 
+     * estiverem {@link #isPartesEmTransacoesProprias() em transações 
+     * próprias}, os itens dela ficam com erro e as outras seguem; senão, a 
+     * exceção levantada faz o rollback da transação da requisição.
+     */
+    private <T> Response executarLote(
+            final List<T> itens, 
+            final Function<T,Key> chave,
+            final OperacaoLote<T,Key> operacao,
+            final Response.Status statusOk) {
+        
+        final ResultadoLote<Key> resultado = new ResultadoLote<>();
+        
+        final int tamanhoParte = getTamanhoParteLote();
+        
+        int inicio = 0;
+        while(inicio < itens.size()){
+            final int fim = 
+                (int) Math.min((long) inicio + tamanhoParte, itens.size());
+            
+            final List<T> parte = itens.subList(inicio, fim);
+            
+            try {
+                resultado.adicionar(
+                    executarParte(() -> operacao.executar(parte)), inicio);
+            } catch (final DalException 
+                            | PersistenceException 
+                            | TransactionalException e) {
+                
+                log.log(Level.FINE, "Erro ao tentar executar lote.", e);
+                
+                if(!isPartesEmTransacoesProprias()){
+                    throw new WebApplicationException(
+                        e,
+                        Response.status(Response.Status.CONFLICT)
+                                .entity(mensagemErroParte(e))
+                                .build());
+                }
+                
+                final DalException erro = 
+                    e instanceof DalException 
+                        ? (DalException) e 
+                        : new DalException(e, ERRO_PARTE_LOTE);
+                
+                for (int i = inicio; i < fim; i++) {
+                    resultado.falha(i, chave.apply(itens.get(i)), erro);
+                }
+            }
+            
+            inicio = fim;
+        }
+        
+        final List<StatusItemLote<Key>> status = 
+            new ArrayList<>(resultado.getItens().size());
+        
+        for (final ResultadoLote.Item<Key> item : resultado.getItens()) {
+            status.add(
+                new StatusItemLote<>(
+                    item.getIndice(), 
+                    item.getChave(), 
+                    statusItem(item.getSituacao(), statusOk), 
+                    item.getMensagem()));
+        }
+        
+        return Response
+                .status(MULTI_STATUS)
+                .entity(new GenericEntity<List<StatusItemLote<Key>>>(status){})
+                .build();
+    }
+
+    private static int statusItem(
+            final ResultadoLote.Situacao situacao, 
+            final Response.Status statusOk) {
+        final Response.Status status;
+        switch (situacao) {
+            case OK: status = statusOk; break;
+            case NAO_ENCONTRADO: status = Response.Status.NOT_FOUND; break;
+            default: status = Response.Status.CONFLICT; break;
+        }
+        return status.getStatusCode();
+    }
+
+    private static String mensagemErroParte(final Exception e) {
+        return e instanceof DalException ? e.getMessage() : ERRO_PARTE_LOTE;
+    }
+
+    /**
+     * Executa uma parte de uma operação em lote. Por padrão, na transação da
+     * requisição. Subclasses podem executar cada parte numa transação 
+     * própria (por exemplo, chamando um bean com 
+     * {@code @Transactional(REQUIRES_NEW)}), pra que as partes já 
+     * executadas sejam confirmadas mesmo que uma parte seguinte falhe. 
+     * Nesse caso, devem sobrescrever também 
+     * {@link #isPartesEmTransacoesProprias()}.
+     * 
+     * @param parte a parte do lote.
+     * @return o resultado da parte.
+     * @throws DalException se a parte inteira falhar.
+     */
+    protected ResultadoLote<Key> executarParte(final ParteLote<Key> parte) 
+            throws DalException {
+        return parte.executar();
+    }
+
+    /**
+     * Se cada {@link #executarParte(ParteLote) parte} de uma operação em lote
+     * é confirmada numa transação própria. Se for, uma parte que falha 
+     * inteira (por exemplo, num flush) tem todos os seus itens respondidos 
+     * com erro, e as outras partes seguem. Se não for (o padrão), a 
+     * transação da requisição já está perdida, e a requisição inteira 
+     * falha com {@code 409}, sem gravar nada.
+     * 
+     * @return se as partes são confirmadas separadamente.
+     */
+    protected boolean isPartesEmTransacoesProprias() {
+        return false;
+    }
+
+    /**
+     * Quantos itens de uma operação em lote são passados de cada vez pra 
+     * {@link #executarParte(ParteLote)}. Por padrão, todos.
+     * 
+     * @return o tamanho de cada parte.
+     */
+    protected int getTamanhoParteLote() {
+        return Integer.MAX_VALUE;
+    }
+
+    protected int getLimiteMaximoLote() {
+        return LIMITE_MAXIMO_LOTE;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> lerLista(final byte[] json) {
+        return ler(
+            json, 
+            List.class, 
+            TypeUtils.parameterize(List.class, getTipoEntidade()));
+    }
+
+    /**
+     * Lê um objeto JSON com as entidades pelos seus ids. As chaves são lidas 
+     * como texto e convertidas com {@link #fromPathId(String)}.
+     */
+    private Map<PathKey,E> lerMapa(final byte[] json) {
+        
+        @SuppressWarnings("unchecked")
+        final Map<String,E> porTexto = 
+            ler(
+                json, 
+                Map.class, 
+                TypeUtils.parameterize(
+                    Map.class, String.class, getTipoEntidade()));
+        
+        final Map<PathKey,E> porPathId = 
+            new LinkedHashMap<>(porTexto.size() * 2);
+        
+        for (final Map.Entry<String,E> entry : porTexto.entrySet()) {
+            final PathKey pathId;
+            try {
+                pathId = fromPathId(entry.getKey());
+            } catch (final IllegalArgumentException e) {
+                throw new BadRequestException(CORPO_INVALIDO, e);
+            }
+            if(porPathId.put(pathId, entry.getValue()) != null){
+                throw new BadRequestException(
+                    "com.github.brunoabdon.commons.rest.ID_REPETIDO");
+            }
+        }
+        
+        return porPathId;
+    }
+
+    /**
+     * Converte o texto de um id, como vem nas chaves do corpo de um 
+     * {@code PUT} em lote, no id usado no caminho. Por padrão, usa o 
+     * {@code valueOf(String)}, o {@code fromString(String)} ou o construtor
+     * que receba a {@code String} da classe do id (achados uma vez por 
+     * classe). Resources com ids convertidos por um 
+     * {@link javax.ws.rs.ext.ParamConverter ParamConverter}, ou cujo tipo de
+     * id não pode ser determinado pelos argumentos de tipo, devem 
+     * sobrescrever este método.
+     * 
+     * @param pathId o texto do id.
+     * @return o id.
+     * @throws IllegalArgumentException se o texto não for um id válido.
+     */
+    @SuppressWarnings("unchecked")
+    protected PathKey fromPathId(final String pathId) {
+        
+        final Class<?> tipo = getTipoChavePath();
+        
+        final Function<String,?> conversor = 
+            tipo == null ? null : CONVERSORES_ID.get(tipo).orElse(null);
+        
+        if(conversor == null){
+            throw new IllegalStateException(
+                "Sobrescreva fromPathId: não há como converter o id em " 
+                + getClass());
+        }
+        return (PathKey) conversor.apply(pathId);
+    }
+
+    private static Optional<Function<String,?>> conversorId(
+            final Class<?> tipo) {
+        
+        if(tipo == String.class){
+            return Optional.of(Function.identity());
+        }
+        
+        for (final String nome : new String[]{"valueOf", "fromString"}) {
+            try {
+                final Method metodo = tipo.getMethod(nome, String.class);
+                if(Modifier.isStatic(metodo.getModifiers()) 
+                        && tipo.isAssignableFrom(metodo.getReturnType())){
+                    return Optional.of(texto -> invocar(metodo, texto));
+                }
+            } catch (final NoSuchMethodException e) {
+                // tenta o próximo
+            }
+        }
+        
+        try {
+            final Constructor<?> construtor = tipo.getConstructor(String.class);
+            return Optional.of(texto -> instanciar(construtor, texto));
+        } catch (final NoSuchMethodException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Object invocar(final Method metodo, final String texto) {
+        try {
+            return metodo.invoke(null, texto);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalArgumentException(texto, e);
+        }
+    }
+
+    private static Object instanciar(
+            final Constructor<?> construtor, 
+            final String texto) {
+        try {
+            return construtor.newInstance(texto);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalArgumentException(texto, e);
+        }
+    }
+
+    /**
+     * Uma parte de uma operação em lote.
+     * 
+     * @param <K> o tipo da chave das entidades
+     */
+    @FunctionalInterface
+    protected interface ParteLote<K> {
+        ResultadoLote<K> executar() throws DalException;
+    }
+
+    @FunctionalInterface
+    private interface OperacaoLote<T,K> {
+        ResultadoLote<K> executar(List<T> parte) throws DalException;
+    }
+
     protected void defineChave(final E entity, final Key id) {
     	log.warning("Pra criar por PUT, é bom setar a chave.");
     };
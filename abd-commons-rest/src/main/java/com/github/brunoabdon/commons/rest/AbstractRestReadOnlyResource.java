@@ -17,34 +17,80 @@
 package com.github.brunoabdon.commons.rest;
 
 import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
+import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
 
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
-
-import org.apache.commons.lang3.builder.HashCodeBuilder;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
 
 import com.github.brunoabdon.commons.dal.DalException;
 import com.github.brunoabdon.commons.dal.Dao;
 import com.github.brunoabdon.commons.dal.EntityNotFoundException;
+import com.github.brunoabdon.commons.dal.Ordem;
+import com.github.brunoabdon.commons.dal.ResultadoBusca;
+import com.github.brunoabdon.commons.util.metricas.Metricas;
 import com.github.brunoabdon.commons.util.modelo.Identifiable;
 
+import org.apache.commons.lang3.reflect.TypeUtils;
+
 /**
  * Classe base para resources implementando operações de leitura de CRUD. 
- * <p><b>Obs:</b> Operação <i>listar</i> ainda não implementada.</p>
+ * <p>A operação <i>listar</i> é paginada por chave: cada página traz, no 
+ * header {@value #CURSOR_HEADER} e num link {@code rel="next"}, um cursor 
+ * opaco que deve ser passado no parâmetro {@code cursor} pra pegar a 
+ * página seguinte.</p>
+ * <p>Passando um ou mais parâmetros {@code id} 
+ * ({@code GET ?id=a&id=b}), <i>listar</i> traz só as entidades com esses 
+ * ids, buscadas de uma vez só, e lista os ids não encontrados no header 
+ * {@value #AUSENTES_HEADER}.</p>
+ * <p>A operação <i>exportar</i> ({@code GET _stream}) escreve todas as 
+ * entidades, em {@value #APPLICATION_NDJSON} ou num array 
+ * {@value MediaType#APPLICATION_JSON}, lendo do banco uma página por vez, 
+ * com a mesma paginação por chave de <i>listar</i>, sem montar a lista 
+ * inteira em memória. Como a resposta é escrita depois que o método do 
+ * resource retorna, fora de transação, cada página é uma leitura 
+ * independente, e nenhum cursor fica aberto entre elas.</p>
+ * <p>Com o {@link MetricasFilter} registrado, as operações <i>pegar</i>,
+ * <i>criar</i>, <i>atualizar</i>, <i>criarOuAtualizar</i>, 
+ * <i>atualizarParcialmente</i>, <i>deletar</i> e as de lote são 
+ * registradas nas {@link #getMetricas() métricas}, com o nome simples da 
+ * classe da entidade e o resultado tirado do status da resposta. O tempo 
+ * inclui a transação inteira, com o commit.</p>
  * 
  * @param <E> O tipo da  entidade criada, lida.
  * @param <Key> O tipo da chave do elemento.
@@ -57,8 +103,44 @@ public abstract class AbstractRestReadOnlyResource
 	private static final Logger log = 
         Logger.getLogger(AbstractRestReadOnlyResource.class.getName());
 
+    public static final String CURSOR_HEADER = "X-Abd-cursor";
+
+    public static final String AUSENTES_HEADER = "X-Abd-ausentes";
+    
+    protected static final int LIMITE_MAXIMO_LISTAGEM = 1000;
+
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    public static final MediaType APPLICATION_NDJSON_TYPE = 
+        MediaType.valueOf(APPLICATION_NDJSON);
+    
+    /**
+     * Quantidade de entidades lidas do banco por vez em 
+     * {@link #exportar(Ordem, HttpHeaders) exportar}. A resposta sofre flush
+     * depois de cada página.
+     */
+    protected static final int TAMANHO_PAGINA_EXPORTACAO = 500;
+    
+    private static final Annotation[] SEM_ANOTACOES = new Annotation[0];
+
+    /**
+     * As classes dos argumentos de tipo ({@code E}, {@code Key} e 
+     * {@code PathKey}) de cada resource, com {@code null} nas posições que 
+     * não puderem ser determinadas.
+     */
+    private static final ClassValue<Class<?>[]> ARGUMENTOS_TIPO = 
+        new ClassValue<Class<?>[]>() {
+            @Override
+            protected Class<?>[] computeValue(final Class<?> resource){
+                return argumentosTipo(resource);
+            }
+        };
+
     @Context
     protected UriInfo uriInfo;
+
+    @Context
+    protected Providers providers;
 	
     @GET
     @Path("{id}")
@@ -70,21 +152,20 @@ public abstract class AbstractRestReadOnlyResource
         final Response response;
 
         final Key id = getFullId(pathId);
-        
+    
         try {
-            
-            final E entity = getEntity(id);
-
-            EntityTag tag =  makeTag(entity, httpHeaders);
-            Response.ResponseBuilder builder = 
-                request.evaluatePreconditions(tag);
-            if(builder==null){
-		//preconditions are not met and the cache is invalid
-		//need to send new value with reponse code 200 (OK)
-		builder = Response.ok(entity);
-		builder.tag(tag);
+        
+            final Response notModified = 
+                notModifiedSemCarregar(request, id, httpHeaders);
+        
+            if(notModified != null){
+                response = notModified;
+            } else {
+                final E entity = getEntity(id);
+
+                response = 
+                    responseBuilder(request, httpHeaders, entity).build();
             }
-            response = builder.build();
 
         } catch (final EntityNotFoundException ex){
             log.log(Level.FINE, () -> "Not found " + id);
@@ -96,8 +177,442 @@ public abstract class AbstractRestReadOnlyResource
         return response;
     }
 
+    @GET
+    public Response listar(
+            final @Context Request request,
+            final @QueryParam("cursor") String cursor,
+            final @QueryParam("limite") @DefaultValue("100") int limite,
+            final @QueryParam("ordem") @DefaultValue("CRESCENTE") Ordem ordem,
+            final @QueryParam("id") List<PathKey> pathIds,
+            final @Context HttpHeaders httpHeaders){
+        
+        if(pathIds != null && !pathIds.isEmpty()){
+            return pegarVarios(request, pathIds, httpHeaders);
+        }
+        
+        if(limite < 1 || limite > getLimiteMaximoListagem()){
+            throw new BadRequestException(
+                "com.github.brunoabdon.commons.rest.LIMITE_INVALIDO");
+        }
+        
+        final Key after = cursor == null ? null : decodificarCursor(cursor);
+        
+        final List<E> pagina;
+        try {
+            pagina = getEntities(after, limite, ordem);
+        } catch (final DalException ex) {
+            log.log(Level.FINE, "Erro ao tentar listar.", ex);
+            throw new WebApplicationException(ex.getMessage(),BAD_REQUEST);
+        }
+        
+        final Response.ResponseBuilder builder = 
+            responseBuilder(
+                request, 
+                httpHeaders, 
+                new GenericEntity<List<? extends E>>(pagina){});
+        
+        if(pagina.size() == limite){
+            final String proximoCursor = 
+                codificarCursor(pagina.get(pagina.size()-1).getId());
+            
+            final URI proximaPagina = 
+                uriInfo
+                    .getRequestUriBuilder()
+                    .replaceQueryParam("cursor", proximoCursor)
+                    .build();
+            
+            builder.header(CURSOR_HEADER, proximoCursor)
+                   .link(proximaPagina, "next");
+        }
+        
+        return builder.build();
+    }
+
+    private Response pegarVarios(
+            final Request request,
+            final List<PathKey> pathIds,
+            final HttpHeaders httpHeaders) {
+        
+        if(pathIds.size() > getLimiteMaximoListagem()){
+            throw new BadRequestException(
+                "com.github.brunoabdon.commons.rest.LIMITE_INVALIDO");
+        }
+        
+        final Map<Key,PathKey> ids = new LinkedHashMap<>();
+        for (final PathKey pathId : pathIds) {
+            ids.putIfAbsent(getFullId(pathId), pathId);
+        }
+        
+        final ResultadoBusca<E,Key> resultado;
+        try {
+            resultado = getEntities(ids.keySet());
+        } catch (final DalException ex) {
+            log.log(Level.FINE, "Erro ao tentar pegar vários.", ex);
+            throw new WebApplicationException(ex.getMessage(),BAD_REQUEST);
+        }
+        
+        final Response.ResponseBuilder builder = 
+            responseBuilder(
+                request, 
+                httpHeaders, 
+                new GenericEntity<List<? extends E>>(
+                    resultado.getEntidades()){});
+        
+        if(!resultado.isCompleto()){
+            final StringJoiner ausentes = new StringJoiner(",");
+            for (final Key id : resultado.getChavesAusentes()) {
+                ausentes.add(String.valueOf(ids.get(id)));
+            }
+            builder.header(AUSENTES_HEADER, ausentes.toString());
+        }
+        
+        return builder.build();
+    }
+
+    @GET
+    @Path("_stream")
+    @Produces({APPLICATION_NDJSON, MediaType.APPLICATION_JSON})
+    public Response exportar(
+            final @QueryParam("ordem") @DefaultValue("CRESCENTE") Ordem ordem,
+            final @Context HttpHeaders httpHeaders){
+        
+        final boolean ndjson = isNdjson(httpHeaders);
+        
+        final StreamingOutput output = out -> escrever(ordem, ndjson, out);
+        
+        return Response
+                .ok(output, ndjson 
+                                ? APPLICATION_NDJSON_TYPE 
+                                : MediaType.APPLICATION_JSON_TYPE)
+                .build();
+    }
+
+    private static boolean isNdjson(final HttpHeaders httpHeaders) {
+        for (final MediaType tipo : httpHeaders.getAcceptableMediaTypes()) {
+            if(tipo.isCompatible(APPLICATION_NDJSON_TYPE)){
+                return true;
+            }
+            if(tipo.isCompatible(MediaType.APPLICATION_JSON_TYPE)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void escrever(
+            final Ordem ordem, 
+            final boolean ndjson, 
+            final OutputStream out) throws IOException {
+        
+        //os writers de entidade nao podem fechar a resposta
+        final OutputStream saida = new FilterOutputStream(out){
+            @Override
+            public void write(final byte[] b, final int off, final int len) 
+                    throws IOException {
+                out.write(b, off, len);
+            }
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        
+        final int tamanhoPagina = getTamanhoPaginaExportacao();
+        
+        try {
+            
+            if(!ndjson) saida.write('[');
+            
+            int escritas = 0;
+            Key after = null;
+            List<E> pagina;
+            do {
+                pagina = getEntities(after, tamanhoPagina, ordem);
+                
+                for (final E entity : pagina) {
+                    if(!ndjson && escritas > 0) saida.write(',');
+                    
+                    escreverEntidade(entity, saida);
+                    
+                    if(ndjson) saida.write('\n');
+                    
+                    escritas++;
+                }
+                
+                saida.flush();
+                
+                if(!pagina.isEmpty()){
+                    after = pagina.get(pagina.size() - 1).getId();
+                }
+            } while(pagina.size() == tamanhoPagina);
+            
+            if(!ndjson) saida.write(']');
+            
+            saida.flush();
+            
+        } catch (final DalException ex) {
+            log.log(Level.FINE, "Erro ao tentar exportar.", ex);
+            throw new WebApplicationException(ex.getMessage(),BAD_REQUEST);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void escreverEntidade(final E entity, final OutputStream out) 
+            throws IOException {
+        
+        final Class<E> type = (Class<E>) entity.getClass();
+        
+        final MessageBodyWriter<E> writer = 
+            providers.getMessageBodyWriter(
+                type, type, SEM_ANOTACOES, MediaType.APPLICATION_JSON_TYPE);
+        
+        if(writer == null){
+            throw new WebApplicationException(
+                "Sem writer JSON pra " + type, INTERNAL_SERVER_ERROR);
+        }
+        
+        writer.writeTo(
+            entity, 
+            type, 
+            type, 
+            SEM_ANOTACOES, 
+            MediaType.APPLICATION_JSON_TYPE, 
+            new MultivaluedHashMap<>(), 
+            out);
+    }
+
+    /**
+     * Tenta responder {@code 304 Not Modified} só com a 
+     * {@link #getVersao(Object) versão} do elemento, sem carregá-lo.
+     * 
+     * @return a resposta {@code 304}, ou {@code null} se não der pra 
+     * decidir sem carregar o elemento ou se ele mudou.
+     */
+    private Response notModifiedSemCarregar(
+            final Request request,
+            final Key id,
+            final HttpHeaders httpHeaders) throws DalException {
+        
+        if(httpHeaders.getHeaderString(HttpHeaders.IF_NONE_MATCH) == null){
+            return null;
+        }
+        
+        final Object versao = getVersao(id);
+        
+        final EntityTag tag = 
+            versao == null 
+                ? null 
+                : getEstrategiaTag().makeTagVersao(versao, httpHeaders);
+        
+        final Response.ResponseBuilder builder = 
+            tag == null ? null : request.evaluatePreconditions(tag);
+        
+        return builder == null ? null : builder.build();
+    }
+
     protected abstract Key getFullId(final PathKey pathId);
 
+    /**
+     * Registra nas {@link #getMetricas() métricas} uma operação medida pelo
+     * {@link MetricasFilter}. O resultado é {@link Metricas#OK} pras 
+     * respostas {@code 2xx}, {@link Metricas#NAO_MODIFICADO} pra 
+     * {@code 304}, {@link Metricas#NAO_ENCONTRADO} pra {@code 404}, 
+     * {@link Metricas#CONFLITO} pra {@code 409} e o próprio código pros 
+     * outros status.
+     * 
+     * @param operacao o nome da operação.
+     * @param status o status da resposta.
+     * @param duracaoNanos quanto tempo a operação levou.
+     */
+    void registrarMetrica(
+            final String operacao, 
+            final int status, 
+            final long duracaoNanos) {
+        getMetricas().registrar(
+            operacao, getNomeEntidade(), resultado(status), duracaoNanos);
+    }
+
+    private static String resultado(final int status) {
+        final String resultado;
+        if(status / 100 == 2){
+            resultado = Metricas.OK;
+        } else if(status == Response.Status.NOT_MODIFIED.getStatusCode()){
+            resultado = Metricas.NAO_MODIFICADO;
+        } else if(status == Response.Status.NOT_FOUND.getStatusCode()){
+            resultado = Metricas.NAO_ENCONTRADO;
+        } else if(status == Response.Status.CONFLICT.getStatusCode()){
+            resultado = Metricas.CONFLITO;
+        } else {
+            resultado = String.valueOf(status);
+        }
+        return resultado;
+    }
+
+    private String getNomeEntidade() {
+        final Class<?> tipo = ARGUMENTOS_TIPO.get(getClass())[0];
+        return tipo == null 
+                ? getClass().getSimpleName() 
+                : tipo.getSimpleName();
+    }
+
+    private static Class<?>[] argumentosTipo(final Class<?> resource) {
+        
+        final TypeVariable<?>[] parametros = 
+            AbstractRestReadOnlyResource.class.getTypeParameters();
+        
+        final Map<TypeVariable<?>,Type> argumentos = 
+            TypeUtils.getTypeArguments(
+                resource, AbstractRestReadOnlyResource.class);
+        
+        final Class<?>[] tipos = new Class<?>[parametros.length];
+        for (int i = 0; i < parametros.length; i++) {
+            final Type tipo = argumentos.get(parametros[i]);
+            tipos[i] = tipo == null ? null : TypeUtils.getRawType(tipo, null);
+        }
+        return tipos;
+    }
+
+    /**
+     * A classe da entidade, tirada dos argumentos de tipo da subclasse. 
+     * Resources genéricos, em que ela não pode ser determinada assim, devem 
+     * sobrescrever este método.
+     * 
+     * @return a classe da entidade.
+     */
+    @SuppressWarnings("unchecked")
+    protected Class<E> getTipoEntidade() {
+        final Class<?> tipo = ARGUMENTOS_TIPO.get(getClass())[0];
+        if(tipo == null){
+            throw new IllegalStateException(
+                "Tipo da entidade desconhecido em " + getClass());
+        }
+        return (Class<E>) tipo;
+    }
+
+    /**
+     * A classe da chave, tirada dos argumentos de tipo da subclasse, ou 
+     * {@code null} se ela não puder ser determinada assim.
+     * 
+     * @return a classe da chave.
+     */
+    protected Class<?> getTipoChave() {
+        return ARGUMENTOS_TIPO.get(getClass())[1];
+    }
+
+    /**
+     * A classe do id usado no caminho, tirada dos argumentos de tipo da 
+     * subclasse, ou {@code null} se ela não puder ser determinada assim.
+     * 
+     * @return a classe do id no caminho.
+     */
+    protected Class<?> getTipoChavePath() {
+        return ARGUMENTOS_TIPO.get(getClass())[2];
+    }
+
+    /**
+     * Onde as operações deste resource são registradas. Por padrão, as 
+     * {@link Metricas#getInstalada() instaladas}.
+     * 
+     * @return as métricas.
+     */
+    protected Metricas getMetricas() {
+        return Metricas.getInstalada();
+    }
+
+    protected Object getVersao(final Key id) throws DalException {
+        return getDao().findVersao(id);
+    }
+
+    protected int getTamanhoPaginaExportacao() {
+        return TAMANHO_PAGINA_EXPORTACAO;
+    }
+
+    protected List<E> getEntities(
+            final Key after, 
+            final int limite, 
+            final Ordem ordem) throws DalException {
+        return getDao().listar(after, limite, ordem);
+    }
+
+    protected ResultadoBusca<E,Key> getEntities(final Collection<Key> ids) 
+            throws DalException {
+        return getDao().findAll(ids);
+    }
+
+    protected int getLimiteMaximoListagem() {
+        return LIMITE_MAXIMO_LISTAGEM;
+    }
+
+    /**
+     * Transforma a última chave de uma página no cursor opaco da próxima. A 
+     * implementação padrão suporta chaves {@link Integer}, {@link Long} e 
+     * {@link String}; resources com outros tipos de chave devem 
+     * sobrescrever este método e {@link #decodificarCursor(String)}.
+     * 
+     * @param key a última chave da página.
+     * @return o cursor.
+     */
+    protected String codificarCursor(final Key key) {
+        final char tipo;
+        if(key instanceof Integer){
+            tipo = 'i';
+        } else if(key instanceof Long){
+            tipo = 'l';
+        } else if(key instanceof String){
+            tipo = 's';
+        } else {
+            throw new UnsupportedOperationException(
+                "Cursor não suportado pra chave " + key.getClass());
+        }
+        
+        return Base64
+                .getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(
+                    (tipo + ":" + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Recupera a chave codificada por {@link #codificarCursor(Object)}.
+     * 
+     * @param cursor o cursor recebido do cliente.
+     * @return a última chave da página anterior.
+     * @throws BadRequestException se o cursor for inválido ou a chave não 
+     * for do {@link #getTipoChave() tipo da chave} do resource.
+     */
+    @SuppressWarnings("unchecked")
+    protected Key decodificarCursor(final String cursor) {
+        final Object key;
+        try {
+            final String str = 
+                new String(
+                    Base64.getUrlDecoder().decode(cursor), 
+                    StandardCharsets.UTF_8);
+            
+            if(str.length() < 2 || str.charAt(1) != ':'){
+                throw new IllegalArgumentException(str);
+            }
+            
+            final String valor = str.substring(2);
+            
+            switch (str.charAt(0)) {
+                case 'i': key = Integer.valueOf(valor); break;
+                case 'l': key = Long.valueOf(valor); break;
+                case 's': key = valor; break;
+                default: throw new IllegalArgumentException(str);
+            }
+            
+            final Class<?> tipoChave = getTipoChave();
+            if(tipoChave != null && !tipoChave.isInstance(key)){
+                throw new IllegalArgumentException(str);
+            }
+        } catch (final IllegalArgumentException e) {
+            throw new BadRequestException(
+                "com.github.brunoabdon.commons.rest.CURSOR_INVALIDO", e);
+        }
+        return (Key) key;
+    }
+
     protected E getEntity(final Key id) throws DalException {
         return getDao().find(id);
     }
@@ -119,33 +634,27 @@ public abstract class AbstractRestReadOnlyResource
             final Request request, 
             final HttpHeaders headers,
             final Object entity){
-
-        final EntityTag tag = makeTag(entity, headers);
-
-        Response.ResponseBuilder builder = request.evaluatePreconditions(tag);
         
-        if(builder==null){
-            //preconditions are not met and the cache is invalid
-            //need to send new value with reponse code 200 (OK)
-            
-            builder = Response.ok(entity);
-            builder.tag(tag);
-        }
-        return builder.build();
+        return responseBuilder(request, headers, entity).build();
     }
 
-    private EntityTag makeTag(
-            final Object thing, final HttpHeaders httpHeaders) {
-
-        final String accept = httpHeaders.getHeaderString(HttpHeaders.ACCEPT);
-
-        final int hashCode = 
-            new HashCodeBuilder(3,23)
-                .append(thing)
-                .append(accept)
-                .toHashCode();
+    private Response.ResponseBuilder responseBuilder(
+            final Request request, 
+            final HttpHeaders headers,
+            final Object entity){
         
-        return new EntityTag(Integer.toString(hashCode));
+        return RestServiceUtils.responseBuilder(
+                request, headers, entity, getEstrategiaTag());
+    }
+
+    /**
+     * A forma de calcular os ETags das respostas deste resource. Por padrão,
+     * {@link TagPorVersao}.
+     * 
+     * @return a estratégia de ETag.
+     */
+    protected EstrategiaTag getEstrategiaTag() {
+        return TagPorVersao.INSTANCE;
     }
 
     protected abstract Dao<E,Key> getDao();
@@ -16,63 +16,225 @@
  */
 package com.github.brunoabdon.commons.rest;
 
+import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.UUID;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.codec.digest.DigestUtils;
 
 /**
+ * Login e validação dos tokens de autorização.
+ * 
+ * <p>A senha é conferida por um {@link VerificadorSenha}: um 
+ * {@link VerificadorPbkdf2} com o hash da variável de ambiente 
+ * {@code ABD_AUTH_SENHA}, se ela estiver definida, ou a verificação MD5 
+ * antiga. As verificações rodam num pool de threads limitado 
+ * ({@code abd.auth.login.threads} threads e uma fila de 
+ * {@code abd.auth.login.fila} logins); com a fila cheia, o login é recusado
+ * na hora. As tentativas de cada client também são limitadas 
+ * ({@code abd.auth.login.rajada} seguidas, e mais uma a cada 
+ * {@code abd.auth.login.intervalo}). O pool deve ser 
+ * {@link #encerrar(Duration) encerrado} quando a aplicação sair.</p>
  *
  * @author Bruno Abdon
  */
 public class Auth {
 
+    /**
+     * Aceita qualquer token, pra quando a variável de ambiente 
+     * {@code ABD_AUTH_OMNI_EST_LICET} for {@code true}.
+     */
+    private static final RepositorioTokens OMNI_EST_LICET = 
+        new RepositorioTokens() {
+            @Override
+            public void guardar(final String token) {}
+
+            @Override
+            public boolean isValido(final String token) {return true;}
+
+            @Override
+            public void remover(final String token) {}
+        };
+    
+    /**
+     * A verificação antiga, com o hash MD5 fixo.
+     */
+    private static final VerificadorSenha VERIFICADOR_MD5 = 
+        senha -> 
+            senha != null 
+            && MessageDigest.isEqual(
+                "cbb72318565824672fdb2b7b4c84df20"
+                    .getBytes(StandardCharsets.US_ASCII), 
+                DigestUtils.md5Hex(senha)
+                    .getBytes(StandardCharsets.US_ASCII));
+    
     private static final Auth INSTANCE = new Auth();
     
-    private final Collection<String> currentAuthorizations;
+    private volatile RepositorioTokens currentAuthorizations;
+    
+    private volatile VerificadorSenha verificador;
+    
+    private final ExecutorService verificacoes;
+    
+    private final LimitadorTentativas limitador;
     
     private Auth(){    
         this.currentAuthorizations =
-            !Boolean.parseBoolean(System.getenv("ABD_AUTH_OMNI_EST_LICET"))
-                ? new HashSet<>()
-                : new HashSet<String>() {
-                		private static final long serialVersionUID = -2604L;
-
-						@Override
-                        public boolean add(final String e) {return false;}
-
-                        @Override
-                        public boolean remove(final Object o) {return false;}
-
-                        @Override
-                        public boolean contains(final Object o) {return true;}
-                    };
+            Boolean.parseBoolean(System.getenv("ABD_AUTH_OMNI_EST_LICET"))
+                ? OMNI_EST_LICET
+                : System.getenv(TokensAssinados.VARIAVEL_CHAVES) != null
+                    ? TokensAssinados.configurado()
+                    : RepositorioTokensMemoria.configurado();
+        
+        final String hashSenha = System.getenv("ABD_AUTH_SENHA");
+        this.verificador = 
+            hashSenha == null 
+                ? VERIFICADOR_MD5 
+                : new VerificadorPbkdf2(hashSenha);
+        
+        final int threads = 
+            Integer.getInteger(
+                "abd.auth.login.threads", 
+                Runtime.getRuntime().availableProcessors());
+        
+        final ThreadPoolExecutor pool = 
+            new ThreadPoolExecutor(
+                threads, 
+                threads, 
+                60, 
+                TimeUnit.SECONDS, 
+                new ArrayBlockingQueue<>(
+                    Integer.getInteger("abd.auth.login.fila", 64)),
+                r -> {
+                    final Thread thread = new Thread(r, "abd-auth-login");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        //sem logins, as threads morrem e nao prendem o classloader
+        pool.allowCoreThreadTimeOut(true);
+        this.verificacoes = pool;
+        
+        final String intervalo = System.getProperty("abd.auth.login.intervalo");
+        
+        this.limitador = 
+            new LimitadorTentativas(
+                Integer.getInteger("abd.auth.login.rajada", 5),
+                intervalo == null 
+                    ? Duration.ofSeconds(12) 
+                    : Duration.parse(intervalo),
+                Integer.getInteger("abd.auth.login.maxClients", 10000));
     }
 
     public static Auth getInstance(){
         return INSTANCE;
     }
 
+    /**
+     * Troca o repositório dos tokens. Os tokens guardados no repositório 
+     * anterior deixam de valer.
+     * 
+     * @param repositorio o novo repositório.
+     */
+    public void setRepositorioTokens(final RepositorioTokens repositorio){
+        this.currentAuthorizations = repositorio;
+    }
+
+    /**
+     * Troca a forma de conferir a senha de login.
+     * 
+     * @param verificador o novo verificador.
+     */
+    public void setVerificadorSenha(final VerificadorSenha verificador){
+        this.verificador = verificador;
+    }
+
     public String login(final String password) throws GeneralSecurityException{
+        
+        try {
+            return login(password, null).toCompletableFuture().join();
+        } catch (final CompletionException e){
+            final Throwable causa = e.getCause();
+            if(causa instanceof GeneralSecurityException){
+                throw (GeneralSecurityException) causa;
+            }
+            throw e;
+        }
+    }
 
-        final String md5pass = DigestUtils.md5Hex(password);
-  
-        if(!"cbb72318565824672fdb2b7b4c84df20".equals(md5pass)){
-            throw new GeneralSecurityException();
+    /**
+     * Faz o login sem ocupar a thread chamadora com a verificação da senha.
+     * 
+     * @param password a senha.
+     * @param client quem está tentando o login, pra limitar as tentativas, 
+     * ou {@code null} pra não limitar.
+     * @return o token de autorização, ou uma falha com 
+     * {@link LoginLimitadoException}, se houver tentativas demais, ou com 
+     * {@link GeneralSecurityException}, se a senha não conferir.
+     */
+    public CompletionStage<String> login(
+            final String password, 
+            final String client) {
+        
+        if(client != null && !limitador.tentar(client)){
+            return falha(
+                new LoginLimitadoException("Tentativas de login demais."));
         }
+        
+        final VerificadorSenha verificadorAtual = this.verificador;
+        
+        try {
+            return CompletableFuture.supplyAsync(
+                () -> {
+                    if(!verificadorAtual.verificar(password)){
+                        throw new CompletionException(
+                            new GeneralSecurityException());
+                    }
+                    return currentAuthorizations.emitir();
+                },
+                verificacoes);
+        } catch (final RejectedExecutionException e){
+            return falha(
+                new LoginLimitadoException("Logins simultâneos demais."));
+        }
+    }
 
-        final String authToken = UUID.randomUUID().toString();
-        currentAuthorizations.add(authToken);
-        return authToken;
+    private static CompletionStage<String> falha(
+            final GeneralSecurityException e) {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
     }
 
     public boolean isValid(final String authToken){
-        return currentAuthorizations.contains(authToken);
+        return currentAuthorizations.isValido(authToken);
     }
 
     public void logout(final String authToken){
-        currentAuthorizations.remove(authToken);
+        currentAuthorizations.remover(authToken);
+    }
+
+    /**
+     * Encerra o pool de verificação de senhas, esperando as verificações em
+     * andamento. Depois disso, todo login é recusado. Deve ser chamado 
+     * quando a aplicação for desinstalada.
+     * 
+     * @param espera quanto tempo esperar pelas verificações em andamento.
+     * @throws InterruptedException se a thread for interrompida na espera.
+     */
+    public void encerrar(final Duration espera) throws InterruptedException {
+        verificacoes.shutdown();
+        if(!verificacoes.awaitTermination(
+                espera.toNanos(), TimeUnit.NANOSECONDS)){
+            verificacoes.shutdownNow();
+        }
     }
 }
\ No newline at end of file
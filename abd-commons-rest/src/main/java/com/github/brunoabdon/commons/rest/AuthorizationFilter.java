@@ -17,24 +17,45 @@
 package com.github.brunoabdon.commons.rest;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerRequestFilter;
-import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.Provider;
 
 /**
+ * Recusa as requisições sem um token de autorização válido, a não ser as 
+ * públicas: as que casaram com um método de resource anotado com 
+ * {@link RecursoPublico}, ou de um resource anotado (como {@link LoginRS} e
+ * {@link PingRs}), e as de caminhos {@link CaminhosPublicos} listados, 
+ * separados por vírgula, na propriedade de sistema 
+ * {@value #PROPRIEDADE_CAMINHOS_PUBLICOS} (terminados em {@code /*} pra 
+ * valer também pros caminhos abaixo, e públicos em todos os métodos HTTP).
+ * 
+ * <p>O filtro roda depois do casamento da requisição com o método de 
+ * resource, e decide pelo {@link ResourceInfo}: a precedência entre 
+ * caminhos fixos e com parâmetros, e as expressões regulares dos 
+ * parâmetros, são as do próprio JAX-RS.</p>
  *
  * @author Bruno Abdon
  */
 @Provider
-@PreMatching
 public class AuthorizationFilter implements ContainerRequestFilter{
     
     private final static Logger LOG =
         Logger.getLogger(AuthorizationFilter.class.getName());
+    
+    public static final String PROPRIEDADE_CAMINHOS_PUBLICOS = 
+        "abd.auth.caminhosPublicos";
+    
+    @Context
+    private ResourceInfo resourceInfo;
+    
+    private volatile CaminhosPublicos caminhosPublicos;
  
     @Override
     public void filter(final ContainerRequestContext requestCtx) 
@@ -47,7 +68,9 @@ public class AuthorizationFilter implements ContainerRequestFilter{
         // this case before validating the headers (CORS stuff)
         if ( requestCtx.getRequest().getMethod().equals( "OPTIONS" ) ) {
             requestCtx.abortWith(Response.status(Response.Status.OK).build());
-        } else if (!path.equals("login")) {
+        } else if (!isAnotadoPublico(resourceInfo)
+                    && !getCaminhosPublicos()
+                            .isPublico(path, requestCtx.getMethod())) {
             final String authToken = 
                 requestCtx.getHeaderString( "X-Abd-auth_token" );
 
@@ -59,4 +82,56 @@ public class AuthorizationFilter implements ContainerRequestFilter{
             }
         }
     }
+
+    /**
+     * Se o método de resource que atende a requisição, ou a classe dele, 
+     * tem {@link RecursoPublico}.
+     * 
+     * @param resourceInfo o método casado com a requisição; pode ser 
+     * {@code null}, fora de um container JAX-RS.
+     * @return se a requisição é pública pelas anotações.
+     */
+    static boolean isAnotadoPublico(final ResourceInfo resourceInfo) {
+        if(resourceInfo == null){
+            return false;
+        }
+        final Method metodo = resourceInfo.getResourceMethod();
+        final Class<?> resource = resourceInfo.getResourceClass();
+        return (metodo != null 
+                    && metodo.isAnnotationPresent(RecursoPublico.class))
+                || (resource != null 
+                    && resource.isAnnotationPresent(RecursoPublico.class));
+    }
+
+    private CaminhosPublicos getCaminhosPublicos() {
+        CaminhosPublicos caminhos = this.caminhosPublicos;
+        if(caminhos == null){
+            //montar duas vezes numa corrida nao tem problema
+            caminhos = montarCaminhosPublicos();
+            this.caminhosPublicos = caminhos;
+        }
+        return caminhos;
+    }
+
+    private CaminhosPublicos montarCaminhosPublicos() {
+        
+        final CaminhosPublicos caminhos = new CaminhosPublicos();
+        
+        final String configurados = 
+            System.getProperty(PROPRIEDADE_CAMINHOS_PUBLICOS);
+        
+        if(configurados != null){
+            for (final String item : configurados.split(",")) {
+                final String caminho = item.trim();
+                if(caminho.endsWith("/*")){
+                    caminhos.adicionarPrefixo(
+                        caminho.substring(0, caminho.length() - 2));
+                } else if(!caminho.isEmpty()){
+                    caminhos.adicionarExato(caminho);
+                }
+            }
+        }
+        
+        return caminhos;
+    }
 }
\ No newline at end of file
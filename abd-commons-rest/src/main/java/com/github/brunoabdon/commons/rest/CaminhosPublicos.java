@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Os caminhos configurados como públicos, que não precisam de autorização, 
+ * com os métodos HTTP em que eles são públicos. A consulta, no caso comum,
+ * não aloca nada e custa o tamanho do caminho: os caminhos exatos ficam 
+ * num {@link Map}, e os prefixos numa árvore de caracteres.
+ * 
+ * <p>Os caminhos são relativos à aplicação, literais (um {@code {id}} não é
+ * um parâmetro) e comparados sem as barras do começo e do fim, como em 
+ * {@link javax.ws.rs.core.UriInfo#getPath()}. Um prefixo só vale em 
+ * fronteira de segmento: o prefixo {@code docs} cobre {@code docs} e 
+ * {@code docs/api}, mas não {@code docsx}. Os resources e métodos públicos
+ * são marcados com {@link RecursoPublico}, e não listados aqui.</p>
+ * 
+ * @author Bruno Abdon
+ */
+public class CaminhosPublicos {
+
+    /**
+     * Os métodos HTTP de um caminho público. {@code null} quer dizer 
+     * nenhum; um conjunto vazio, todos.
+     */
+    private static final Set<String> TODOS = Collections.emptySet();
+
+    private static final class No {
+        private final Map<Character,No> filhos = new HashMap<>(4);
+        private Set<String> prefixo;
+    }
+    
+    private final Map<String,Set<String>> exatos = new HashMap<>();
+    
+    private final No raiz = new No();
+
+    /**
+     * @param caminho o caminho, sem as barras do começo e do fim.
+     * @param metodos os métodos HTTP em que o caminho é público; nenhum 
+     * quer dizer todos.
+     */
+    public void adicionarExato(final String caminho, final String... metodos) {
+        exatos.merge(caminho, conjunto(metodos), CaminhosPublicos::unir);
+    }
+
+    /**
+     * @param prefixo o prefixo, sem as barras do começo e do fim.
+     * @param metodos os métodos HTTP em que os caminhos são públicos; nenhum
+     * quer dizer todos.
+     */
+    public void adicionarPrefixo(
+            final String prefixo, 
+            final String... metodos) {
+        No no = raiz;
+        for (int i = 0; i < prefixo.length(); i++) {
+            no = no.filhos.computeIfAbsent(prefixo.charAt(i), k -> new No());
+        }
+        no.prefixo = unir(no.prefixo, conjunto(metodos));
+    }
+
+    /**
+     * @param caminho o caminho da requisição.
+     * @param metodo o método HTTP da requisição.
+     * @return se o caminho é público nesse método.
+     */
+    public boolean isPublico(final String caminho, final String metodo) {
+        
+        int inicio = 0, fim = caminho.length();
+        while(inicio < fim && caminho.charAt(inicio) == '/') inicio++;
+        while(fim > inicio && caminho.charAt(fim - 1) == '/') fim--;
+        
+        if(!exatos.isEmpty()){
+            final Set<String> exato = 
+                inicio == 0 && fim == caminho.length()
+                    ? exatos.get(caminho)
+                    : exatos.get(caminho.substring(inicio, fim));
+            if(permite(exato, metodo)){
+                return true;
+            }
+        }
+        
+        No no = raiz;
+        for (int i = inicio; ; i++) {
+            if((i == fim || caminho.charAt(i) == '/') 
+                    && permite(no.prefixo, metodo)){
+                return true;
+            }
+            if(i == fim){
+                return false;
+            }
+            no = no.filhos.get(caminho.charAt(i));
+            if(no == null){
+                return false;
+            }
+        }
+    }
+
+    private static boolean permite(
+            final Set<String> metodos, 
+            final String metodo) {
+        return metodos != null 
+                && (metodos.isEmpty() || metodos.contains(metodo));
+    }
+
+    private static Set<String> conjunto(final String[] metodos) {
+        return metodos.length == 0 
+                ? TODOS 
+                : new HashSet<>(Arrays.asList(metodos));
+    }
+
+    private static Set<String> unir(final Set<String> a, final Set<String> b){
+        if(a == null){
+            return b;
+        }
+        if(a.isEmpty() || b.isEmpty()){
+            return TODOS;
+        }
+        final Set<String> uniao = new HashSet<>(a);
+        uniao.addAll(b);
+        return uniao;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Lê só os nomes das propriedades de primeiro nível de um objeto JSON, sem
+ * montar os valores. Serve pro {@code PATCH}, que precisa saber quais 
+ * propriedades vieram no documento, mas já lê os valores uma vez com o 
+ * reader da entidade.
+ * 
+ * <p>Só garante o resultado pra JSON válido; a validação do documento fica
+ * com o reader. Num documento truncado ou que não seja um objeto, levanta
+ * {@link IllegalArgumentException}.</p>
+ * 
+ * @author Bruno Abdon
+ */
+final class ChavesJson {
+
+    private final byte[] json;
+    
+    private int i;
+
+    private ChavesJson(final byte[] json) {
+        this.json = json;
+    }
+
+    /**
+     * @param json um objeto JSON, em UTF-8.
+     * @return os nomes das propriedades de primeiro nível, na ordem do 
+     * documento.
+     * @throws IllegalArgumentException se o documento não for um objeto.
+     */
+    static Set<String> de(final byte[] json) {
+        return new ChavesJson(json).ler();
+    }
+
+    private Set<String> ler() {
+        final Set<String> chaves = new LinkedHashSet<>();
+        
+        esperar('{');
+        pularEspacos();
+        if(atual() == '}'){
+            return chaves;
+        }
+        
+        while(true){
+            pularEspacos();
+            chaves.add(lerString());
+            esperar(':');
+            pularValor();
+            pularEspacos();
+            final byte separador = proximo();
+            if(separador == '}'){
+                return chaves;
+            }
+            if(separador != ','){
+                throw invalido();
+            }
+        }
+    }
+
+    private void pularValor() {
+        pularEspacos();
+        final byte c = atual();
+        if(c == '"'){
+            lerString();
+        } else if(c == '{' || c == '['){
+            int profundidade = 0;
+            do {
+                final byte d = atual();
+                if(d == '"'){
+                    lerString();
+                } else {
+                    i++;
+                    if(d == '{' || d == '['){
+                        profundidade++;
+                    } else if(d == '}' || d == ']'){
+                        profundidade--;
+                    }
+                }
+            } while(profundidade > 0);
+        } else {
+            //numero, true, false ou null
+            while(i < json.length 
+                    && json[i] != ',' 
+                    && json[i] != '}' 
+                    && json[i] != ']'){
+                i++;
+            }
+        }
+    }
+
+    private String lerString() {
+        if(proximo() != '"'){
+            throw invalido();
+        }
+        final int inicio = i;
+        boolean escapada = false;
+        while(atual() != '"'){
+            if(json[i] == '\\'){
+                escapada = true;
+                i++;
+            }
+            i++;
+        }
+        final String texto = 
+            new String(json, inicio, i - inicio, StandardCharsets.UTF_8);
+        i++;
+        return escapada ? desescapar(texto) : texto;
+    }
+
+    private static String desescapar(final String texto) {
+        final StringBuilder sb = new StringBuilder(texto.length());
+        for (int j = 0; j < texto.length(); j++) {
+            char c = texto.charAt(j);
+            if(c == '\\' && j + 1 < texto.length()){
+                c = texto.charAt(++j);
+                switch (c) {
+                    case 'b': c = '\b'; break;
+                    case 'f': c = '\f'; break;
+                    case 'n': c = '\n'; break;
+                    case 'r': c = '\r'; break;
+                    case 't': c = '\t'; break;
+                    case 'u':
+                        if(j + 4 >= texto.length()){
+                            throw invalido();
+                        }
+                        c = (char) Integer.parseInt(
+                                texto.substring(j + 1, j + 5), 16);
+                        j += 4;
+                        break;
+                    default: break;
+                }
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private void esperar(final char c) {
+        pularEspacos();
+        if(proximo() != c){
+            throw invalido();
+        }
+    }
+
+    private void pularEspacos() {
+        while(i < json.length 
+                && (json[i] == ' ' 
+                    || json[i] == '\t' 
+                    || json[i] == '\n' 
+                    || json[i] == '\r')){
+            i++;
+        }
+    }
+
+    private byte atual() {
+        if(i >= json.length){
+            throw invalido();
+        }
+        return json[i];
+    }
+
+    private byte proximo() {
+        final byte c = atual();
+        i++;
+        return c;
+    }
+
+    private static IllegalArgumentException invalido() {
+        return new IllegalArgumentException("JSON inválido.");
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import java.time.Duration;
+
+/**
+ * Configuração das conexões HTTP de um {@link AbstractRestClient}. Campos 
+ * {@code null} ficam com o padrão da implementação JAX-RS.
+ * 
+ * <p>Os timeouts e o cache de sessões TLS são aplicados por qualquer 
+ * implementação. O pool de conexões (tamanho e tempo de vida das 
+ * conexões) depende da implementação; veja 
+ * {@link AbstractRestClient#configurarPool(javax.ws.rs.client.ClientBuilder, 
+ * ConfiguracaoConexao)}.</p>
+ * 
+ * @author Bruno Abdon
+ */
+public class ConfiguracaoConexao {
+
+    private Integer maxConexoes;
+    private Integer maxConexoesPorRota;
+    private Duration tempoVidaConexao;
+    private Duration timeoutConexao;
+    private Duration timeoutLeitura;
+    private Integer tamanhoCacheSessaoTls;
+    private Duration tempoVidaSessaoTls;
+    private Boolean aceitarCompressao;
+
+    /**
+     * @return a quantidade máxima de conexões abertas no pool.
+     */
+    public Integer getMaxConexoes() {
+        return maxConexoes;
+    }
+
+    public void setMaxConexoes(final Integer maxConexoes) {
+        this.maxConexoes = maxConexoes;
+    }
+
+    /**
+     * @return a quantidade máxima de conexões abertas pra um mesmo servidor.
+     */
+    public Integer getMaxConexoesPorRota() {
+        return maxConexoesPorRota;
+    }
+
+    public void setMaxConexoesPorRota(final Integer maxConexoesPorRota) {
+        this.maxConexoesPorRota = maxConexoesPorRota;
+    }
+
+    /**
+     * @return por quanto tempo uma conexão pode ser reaproveitada 
+     * (<i>keep-alive</i>).
+     */
+    public Duration getTempoVidaConexao() {
+        return tempoVidaConexao;
+    }
+
+    public void setTempoVidaConexao(final Duration tempoVidaConexao) {
+        this.tempoVidaConexao = tempoVidaConexao;
+    }
+
+    public Duration getTimeoutConexao() {
+        return timeoutConexao;
+    }
+
+    public void setTimeoutConexao(final Duration timeoutConexao) {
+        this.timeoutConexao = timeoutConexao;
+    }
+
+    public Duration getTimeoutLeitura() {
+        return timeoutLeitura;
+    }
+
+    public void setTimeoutLeitura(final Duration timeoutLeitura) {
+        this.timeoutLeitura = timeoutLeitura;
+    }
+
+    /**
+     * @return quantas sessões TLS são guardadas pra serem retomadas sem um 
+     * handshake completo.
+     */
+    public Integer getTamanhoCacheSessaoTls() {
+        return tamanhoCacheSessaoTls;
+    }
+
+    public void setTamanhoCacheSessaoTls(final Integer tamanhoCacheSessaoTls) {
+        this.tamanhoCacheSessaoTls = tamanhoCacheSessaoTls;
+    }
+
+    /**
+     * @return por quanto tempo uma sessão TLS pode ser retomada.
+     */
+    public Duration getTempoVidaSessaoTls() {
+        return tempoVidaSessaoTls;
+    }
+
+    public void setTempoVidaSessaoTls(final Duration tempoVidaSessaoTls) {
+        this.tempoVidaSessaoTls = tempoVidaSessaoTls;
+    }
+
+    /**
+     * @return se o client pede respostas comprimidas ({@code gzip} ou 
+     * {@code deflate}) e as descomprime, com um 
+     * {@link com.github.brunoabdon.commons.rest.compressao.CompressaoInterceptor
+     * CompressaoInterceptor}.
+     */
+    public Boolean getAceitarCompressao() {
+        return aceitarCompressao;
+    }
+
+    public void setAceitarCompressao(final Boolean aceitarCompressao) {
+        this.aceitarCompressao = aceitarCompressao;
+    }
+}
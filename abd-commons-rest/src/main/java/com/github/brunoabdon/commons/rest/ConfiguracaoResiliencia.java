@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import java.time.Duration;
+
+/**
+ * Política de resiliência das requisições de um {@link AbstractRestClient}:
+ * novas tentativas com espera exponencial, disjuntor (<i>circuit 
+ * breaker</i>) e prazo total. Cada recurso fica desligado enquanto seu 
+ * campo principal ({@code maxTentativas}, {@code taxaFalhasDisjuntor} ou 
+ * {@code prazo}) for {@code null}.
+ * 
+ * <p>Só são repetidas as requisições idempotentes (GET e DELETE) que 
+ * falharem por erro de comunicação ou com {@code 502}, {@code 503} ou 
+ * {@code 504}. Falhas de conexão, em que a requisição nem chegou ao 
+ * servidor, são repetidas pra qualquer método.</p>
+ * 
+ * @author Bruno Abdon
+ */
+public class ConfiguracaoResiliencia {
+
+    private Integer maxTentativas;
+    private Duration esperaInicial = Duration.ofMillis(100);
+    private Duration esperaMaxima = Duration.ofSeconds(2);
+    private Double taxaFalhasDisjuntor;
+    private int janelaDisjuntor = 20;
+    private Duration tempoDisjuntorAberto = Duration.ofSeconds(30);
+    private Duration prazo;
+
+    /**
+     * @return quantas vezes, no máximo, uma requisição é feita (contando a 
+     * primeira).
+     */
+    public Integer getMaxTentativas() {
+        return maxTentativas;
+    }
+
+    public void setMaxTentativas(final Integer maxTentativas) {
+        this.maxTentativas = maxTentativas;
+    }
+
+    /**
+     * @return a espera máxima antes da segunda tentativa. A cada tentativa 
+     * ela dobra, até {@link #getEsperaMaxima()}, e a espera de fato é 
+     * sorteada entre zero e ela.
+     */
+    public Duration getEsperaInicial() {
+        return esperaInicial;
+    }
+
+    public void setEsperaInicial(final Duration esperaInicial) {
+        this.esperaInicial = esperaInicial;
+    }
+
+    public Duration getEsperaMaxima() {
+        return esperaMaxima;
+    }
+
+    public void setEsperaMaxima(final Duration esperaMaxima) {
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    /**
+     * @return a fração (de 0 a 1) de falhas, entre as últimas 
+     * {@link #getJanelaDisjuntor() requisições}, que abre o disjuntor. 
+     * Contam como falha os erros de comunicação e as respostas {@code 5xx}.
+     */
+    public Double getTaxaFalhasDisjuntor() {
+        return taxaFalhasDisjuntor;
+    }
+
+    public void setTaxaFalhasDisjuntor(final Double taxaFalhasDisjuntor) {
+        this.taxaFalhasDisjuntor = taxaFalhasDisjuntor;
+    }
+
+    /**
+     * @return quantas das últimas requisições o disjuntor considera.
+     */
+    public int getJanelaDisjuntor() {
+        return janelaDisjuntor;
+    }
+
+    public void setJanelaDisjuntor(final int janelaDisjuntor) {
+        this.janelaDisjuntor = janelaDisjuntor;
+    }
+
+    /**
+     * @return por quanto tempo o disjuntor, depois de aberto, recusa as 
+     * requisições antes de deixar passar uma de teste.
+     */
+    public Duration getTempoDisjuntorAberto() {
+        return tempoDisjuntorAberto;
+    }
+
+    public void setTempoDisjuntorAberto(final Duration tempoDisjuntorAberto) {
+        this.tempoDisjuntorAberto = tempoDisjuntorAberto;
+    }
+
+    /**
+     * @return o tempo máximo de uma requisição, somando todas as tentativas
+     * e esperas.
+     */
+    public Duration getPrazo() {
+        return prazo;
+    }
+
+    public void setPrazo(final Duration prazo) {
+        this.prazo = prazo;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import java.time.Duration;
+
+/**
+ * Disjuntor (<i>circuit breaker</i>) das requisições de um 
+ * {@link AbstractRestClient}. Abre quando a fração de falhas entre as 
+ * últimas requisições passa do limite; aberto, recusa as requisições até 
+ * acabar o tempo de espera, e aí deixa passar uma de teste: se ela der 
+ * certo, o disjuntor fecha, senão, abre de novo.
+ * 
+ * @author Bruno Abdon
+ */
+class Disjuntor {
+
+    private enum Estado {FECHADO, ABERTO, MEIO_ABERTO}
+    
+    private final double taxaFalhas;
+    
+    private final long tempoAberto;
+    
+    private final boolean[] janela;
+    
+    private int posicao, registradas, falhas;
+    
+    private Estado estado = Estado.FECHADO;
+    
+    private long abertoDesde;
+    
+    private boolean testando;
+
+    Disjuntor(
+            final double taxaFalhas, 
+            final int tamanhoJanela, 
+            final Duration tempoAberto) {
+        
+        if(tamanhoJanela < 1){
+            throw new IllegalArgumentException(
+                "Janela do disjuntor inválida: " + tamanhoJanela);
+        }
+        
+        this.taxaFalhas = taxaFalhas;
+        this.janela = new boolean[tamanhoJanela];
+        this.tempoAberto = tempoAberto.toNanos();
+    }
+
+    /**
+     * @return se uma requisição pode ser feita agora.
+     */
+    synchronized boolean permitir() {
+        switch (estado) {
+            case ABERTO:
+                if(System.nanoTime() - abertoDesde < tempoAberto){
+                    return false;
+                }
+                estado = Estado.MEIO_ABERTO;
+                testando = true;
+                return true;
+            case MEIO_ABERTO:
+                //so uma requisicao de teste por vez
+                if(testando){
+                    return false;
+                }
+                testando = true;
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Registra o resultado de uma requisição 
+     * {@link #permitir() permitida}.
+     * 
+     * @param falhou se a requisição falhou.
+     */
+    synchronized void registrar(final boolean falhou) {
+        
+        if(estado == Estado.MEIO_ABERTO){
+            testando = false;
+            if(falhou){
+                abrir();
+            } else {
+                fechar();
+            }
+            return;
+        }
+        
+        if(estado == Estado.ABERTO){
+            return;
+        }
+        
+        if(registradas == janela.length){
+            if(janela[posicao]) falhas--;
+        } else {
+            registradas++;
+        }
+        
+        janela[posicao] = falhou;
+        if(falhou) falhas++;
+        posicao = (posicao + 1) % janela.length;
+        
+        if(registradas == janela.length 
+                && falhas >= taxaFalhas * janela.length){
+            abrir();
+        }
+    }
+
+    private void abrir() {
+        estado = Estado.ABERTO;
+        abertoDesde = System.nanoTime();
+    }
+
+    private void fechar() {
+        estado = Estado.FECHADO;
+        posicao = registradas = falhas = 0;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import java.util.Date;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+
+/**
+ * Forma de calcular o {@link EntityTag ETag} (e, opcionalmente, o 
+ * <i>Last-Modified</i>) da representação de um elemento ou de uma lista de
+ * elementos, usados pra responder requisições condicionais.
+ * 
+ * @author Bruno Abdon
+ * @see TagPorVersao
+ * @see TagPorHash
+ * @see TagPorDigest
+ */
+public interface EstrategiaTag {
+
+    /**
+     * Calcula o ETag da representação de um elemento.
+     * 
+     * @param thing o elemento, ou uma {@link java.util.Collection coleção} de
+     * elementos.
+     * @param httpHeaders os headers da requisição.
+     * @return o ETag.
+     */
+    public EntityTag makeTag(Object thing, HttpHeaders httpHeaders);
+
+    /**
+     * Calcula o ETag que {@link #makeTag(Object, HttpHeaders) makeTag} 
+     * daria pra um elemento com a versão dada, sem precisar do elemento. 
+     * Permite responder {@code If-None-Match} sem carregar a entidade.
+     * 
+     * @param versao a {@link com.github.brunoabdon.commons.modelo.Versionada
+     * versão} do elemento.
+     * @param httpHeaders os headers da requisição.
+     * @return o ETag ou {@code null}, se a estratégia não depender só da 
+     * versão.
+     */
+    public default EntityTag makeTagVersao(
+            final Object versao, 
+            final HttpHeaders httpHeaders) {
+        return null;
+    }
+
+    /**
+     * O momento da última modificação do elemento, se conhecido.
+     * 
+     * @param thing o elemento, ou uma {@link java.util.Collection coleção} de
+     * elementos.
+     * @return o momento da última modificação ou {@code null}.
+     */
+    public default Date getLastModified(final Object thing) {
+        return null;
+    }
+}
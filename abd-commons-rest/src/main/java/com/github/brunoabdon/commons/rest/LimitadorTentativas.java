@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import java.time.Duration;
+
+import com.github.brunoabdon.commons.util.cache.CacheLimitado;
+
+/**
+ * Limita as tentativas de login por client, com um balde de fichas: cada 
+ * client pode fazer até {@code rajada} tentativas seguidas, e ganha uma 
+ * nova a cada {@code intervalo}. Os baldes ficam num 
+ * {@link CacheLimitado}, então a memória usada é limitada.
+ * 
+ * @author Bruno Abdon
+ */
+class LimitadorTentativas {
+
+    private static final class Balde {
+        private double fichas;
+        private long atualizado;
+
+        private Balde(final double fichas, final long agora) {
+            this.fichas = fichas;
+            this.atualizado = agora;
+        }
+    }
+    
+    private final int rajada;
+    
+    private final long intervalo;
+    
+    private final CacheLimitado<String,Balde> baldes;
+
+    /**
+     * @param rajada quantas tentativas seguidas um client pode fazer.
+     * @param intervalo de quanto em quanto tempo o client ganha mais uma 
+     * tentativa.
+     * @param maxClients de quantos clients as tentativas são lembradas.
+     */
+    LimitadorTentativas(
+            final int rajada, 
+            final Duration intervalo, 
+            final int maxClients) {
+        
+        this.rajada = rajada;
+        this.intervalo = intervalo.toNanos();
+        
+        //depois disso, o balde estaria cheio de novo
+        this.baldes = 
+            new CacheLimitado<>(maxClients, intervalo.multipliedBy(rajada));
+    }
+
+    /**
+     * Gasta uma ficha do client, se ele tiver.
+     * 
+     * @param client o client.
+     * @return se a tentativa pode ser feita.
+     */
+    boolean tentar(final String client) {
+        
+        final long agora = System.nanoTime();
+        
+        Balde balde = baldes.get(client);
+        if(balde == null){
+            synchronized (this) {
+                balde = baldes.get(client);
+                if(balde == null){
+                    balde = new Balde(rajada, agora);
+                    baldes.put(client, balde);
+                }
+            }
+        }
+        
+        synchronized (balde) {
+            balde.fichas = 
+                Math.min(
+                    rajada, 
+                    balde.fichas 
+                        + (agora - balde.atualizado) / (double) intervalo);
+            balde.atualizado = agora;
+            
+            if(balde.fichas < 1){
+                return false;
+            }
+            balde.fichas--;
+            return true;
+        }
+    }
+}
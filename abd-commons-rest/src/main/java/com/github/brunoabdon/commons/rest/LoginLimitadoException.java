@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import java.security.GeneralSecurityException;
+
+/**
+ * Login recusado por excesso de tentativas: do mesmo client, ou de todos 
+ * ao mesmo tempo.
+ * 
+ * @author Bruno Abdon
+ */
+public class LoginLimitadoException extends GeneralSecurityException {
+
+    private static final long serialVersionUID = 3118034657735418723L;
+
+    public LoginLimitadoException(final String message) {
+        super(message);
+    }
+}
@@ -17,11 +17,21 @@
 package com.github.brunoabdon.commons.rest;
 
 import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
@@ -30,23 +40,150 @@ import javax.ws.rs.core.Response;
  * @author Bruno Abdon
  */
 @Path("login")
+@RecursoPublico
 public class LoginRS {
     
+    /**
+     * Propriedade de sistema com os endereços, separados por vírgula, dos 
+     * proxies cujo header {@code X-Forwarded-For} é confiável. Os endereços
+     * são comparados exatamente como vêm da conexão.
+     */
+    public static final String PROPRIEDADE_PROXIES = "abd.auth.login.proxies";
+    
+    /**
+     * Propriedade de sistema com o client em que são contadas as tentativas
+     * de login sem endereço remoto (fora de um container de servlets, por 
+     * exemplo). Todas essas tentativas dividem o mesmo limite. Vazia, elas 
+     * são recusadas. Por padrão, {@value #CLIENT_SEM_ENDERECO}.
+     */
+    public static final String PROPRIEDADE_CLIENT_SEM_ENDERECO = 
+        "abd.auth.login.clientSemEndereco";
+    
+    public static final String CLIENT_SEM_ENDERECO = "sem-endereco";
+    
+    private static final Set<String> PROXIES = 
+        proxies(System.getProperty(PROPRIEDADE_PROXIES));
+    
+    private static final String COMPARTILHADO = 
+        System.getProperty(
+            PROPRIEDADE_CLIENT_SEM_ENDERECO, CLIENT_SEM_ENDERECO).trim();
+    
+    @Context
+    private HttpServletRequest servletRequest;
+    
+    /**
+     * Faz o login. A thread da requisição é liberada enquanto a senha é 
+     * conferida. As tentativas são limitadas por client, identificado pelo 
+     * endereço remoto da conexão. Se a conexão vier de um dos 
+     * {@link #PROPRIEDADE_PROXIES proxies confiáveis}, o client é o último 
+     * endereço do header {@code X-Forwarded-For} que não seja de um deles.
+     * Sem o endereço remoto, as tentativas são contadas num client 
+     * {@link #PROPRIEDADE_CLIENT_SEM_ENDERECO compartilhado}.
+     */
     @POST
     @Produces(MediaType.APPLICATION_JSON)
-    public String login(final String password){
+    public void login(
+            final String password,
+            final @HeaderParam("X-Forwarded-For") String forwardedFor,
+            final @Suspended AsyncResponse asyncResponse){
+        
+        final String identificado = 
+            client(
+                servletRequest == null 
+                    ? null 
+                    : servletRequest.getRemoteAddr(), 
+                forwardedFor, 
+                PROXIES);
         
-        final String strToken;
+        final String client = 
+            identificado != null || COMPARTILHADO.isEmpty() 
+                ? identificado 
+                : COMPARTILHADO;
+        
+        if(client == null){
+            asyncResponse.resume(
+                new WebApplicationException(
+                    "Client não identificado.", 
+                    Response.Status.FORBIDDEN));
+            return;
+        }
+        
+        Auth.getInstance()
+            .login(password, client)
+            .whenComplete((strToken, erro) -> {
+                if(erro == null){
+                    asyncResponse.resume("{\"token\":\""+strToken+"\"}");
+                } else {
+                    asyncResponse.resume(resposta(erro));
+                }
+            });
+    }
 
-        try {
-            strToken = Auth.getInstance().login(password);
-            
-        } catch (GeneralSecurityException ex){
-            throw new WebApplicationException(
-                ex.getMessage(), 
-                Response.Status.UNAUTHORIZED);
+    /**
+     * Identifica o client de um login.
+     * 
+     * @param remoto o endereço remoto da conexão, possivelmente 
+     * {@code null}.
+     * @param forwardedFor o header {@code X-Forwarded-For}, possivelmente 
+     * {@code null}.
+     * @param proxies os proxies confiáveis.
+     * @return o endereço do client, ou {@code null} se não der pra saber.
+     */
+    static String client(
+            final String remoto, 
+            final String forwardedFor,
+            final Set<String> proxies) {
+        
+        if(remoto == null || remoto.isEmpty()){
+            return null;
         }
         
-        return "{\"token\":\""+strToken+"\"}";
+        if(forwardedFor == null || !proxies.contains(remoto)){
+            return remoto;
+        }
+        
+        //da direita pra esquerda, cada proxy confiavel anotou quem o chamou
+        final String[] enderecos = forwardedFor.split(",");
+        
+        String client = remoto;
+        for (int i = enderecos.length - 1; i >= 0; i--) {
+            final String endereco = enderecos[i].trim();
+            if(endereco.isEmpty()){
+                break;
+            }
+            client = endereco;
+            if(!proxies.contains(endereco)){
+                break;
+            }
+        }
+        return client;
+    }
+
+    static Set<String> proxies(final String valor) {
+        return valor == null 
+                ? Collections.emptySet()
+                : Arrays.stream(valor.split(","))
+                        .map(String::trim)
+                        .filter(p -> !p.isEmpty())
+                        .collect(Collectors.toSet());
+    }
+
+    private static Throwable resposta(final Throwable erro) {
+        
+        final Throwable causa = 
+            erro instanceof CompletionException ? erro.getCause() : erro;
+        
+        if(causa instanceof LoginLimitadoException){
+            return new WebApplicationException(
+                causa.getMessage(),
+                Response.status(Response.Status.TOO_MANY_REQUESTS)
+                        .header("Retry-After", 60)
+                        .build());
+        } else if(causa instanceof GeneralSecurityException){
+            return new WebApplicationException(
+                causa.getMessage(), 
+                Response.Status.UNAUTHORIZED);
+        }
+        return causa;
     }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Mede as operações dos {@link AbstractRestReadOnlyResource resources} e 
+ * as registra nas métricas de cada um. A medida começa depois que a 
+ * requisição casa com o método do resource e termina no filtro de 
+ * resposta, então inclui a leitura do corpo e a transação inteira do 
+ * método ({@code @Transactional}), com o flush e o commit, que acontecem 
+ * depois que o método retorna. Respostas de exceções que nenhum 
+ * {@link javax.ws.rs.ext.ExceptionMapper ExceptionMapper} trata não passam
+ * pelo filtro de resposta e não são registradas.
+ * 
+ * @author Bruno Abdon
+ */
+@Provider
+public class MetricasFilter 
+        implements ContainerRequestFilter, ContainerResponseFilter {
+
+    /**
+     * Os métodos medidos, que dão nome às operações.
+     */
+    private static final Set<String> OPERACOES = 
+        new HashSet<>(
+            Arrays.asList(
+                "pegar", 
+                "criar", 
+                "atualizar", 
+                "criarOuAtualizar", 
+                "atualizarParcialmente", 
+                "deletar", 
+                "criarLote", 
+                "atualizarLote", 
+                "deletarLote"));
+    
+    private static final String PROPRIEDADE_INICIO = 
+        MetricasFilter.class.getName() + ".inicio";
+    
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(final ContainerRequestContext requestCtx) 
+            throws IOException {
+        
+        final Method metodo = resourceInfo.getResourceMethod();
+        
+        if(metodo != null 
+                && OPERACOES.contains(metodo.getName())
+                && AbstractRestReadOnlyResource.class.isAssignableFrom(
+                    resourceInfo.getResourceClass())){
+            requestCtx.setProperty(PROPRIEDADE_INICIO, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void filter(
+            final ContainerRequestContext requestCtx, 
+            final ContainerResponseContext responseCtx) throws IOException {
+        
+        final Object inicio = requestCtx.getProperty(PROPRIEDADE_INICIO);
+        
+        if(inicio == null){
+            return;
+        }
+        
+        final List<Object> resources = 
+            requestCtx.getUriInfo().getMatchedResources();
+        
+        final Object resource = resources.isEmpty() ? null : resources.get(0);
+        
+        if(resource instanceof AbstractRestReadOnlyResource){
+            ((AbstractRestReadOnlyResource<?,?,?>) resource).registrarMetrica(
+                resourceInfo.getResourceMethod().getName(), 
+                responseCtx.getStatus(), 
+                System.nanoTime() - (Long) inicio);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import javax.ws.rs.Path;
  * @author Bruno Abdon
  */
 @Path("ping")
+@RecursoPublico
 public class PingRs {
 
     @HEAD
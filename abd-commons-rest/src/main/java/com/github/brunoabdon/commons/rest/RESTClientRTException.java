@@ -28,6 +28,8 @@ public class RESTClientRTException extends RuntimeException {
 	public static final int ERRO_GERAL = 0;
     public static final int SERVIDOR_FORA = 1;
     public static final int SERVIDOR_DESNORTEADO = 2;
+    public static final int CIRCUITO_ABERTO = 3;
+    public static final int PRAZO_ESGOTADO = 4;
     
     private int code;
 
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import java.util.UUID;
+
+/**
+ * Onde o {@link Auth} guarda os tokens de autorização emitidos. As 
+ * implementações devem aguentar acesso concorrente: 
+ * {@link #isValido(String)} é chamado em toda requisição.
+ * 
+ * @author Bruno Abdon
+ */
+public interface RepositorioTokens {
+
+    /**
+     * Emite um token novo. A implementação padrão sorteia um 
+     * {@link UUID} e o {@link #guardar(String) guarda}.
+     * 
+     * @return o token.
+     */
+    public default String emitir() {
+        final String token = UUID.randomUUID().toString();
+        guardar(token);
+        return token;
+    }
+
+    /**
+     * Guarda um token recém emitido.
+     * 
+     * @param token o token.
+     */
+    public void guardar(final String token);
+
+    /**
+     * Diz se um token foi emitido e ainda vale. Pode renovar a validade do 
+     * token, em implementações com expiração por inatividade.
+     * 
+     * @param token o token, possivelmente {@code null}.
+     * @return se o token vale.
+     */
+    public boolean isValido(final String token);
+
+    /**
+     * Invalida um token.
+     * 
+     * @param token o token.
+     * @throws IllegalStateException se o token não puder ser invalidado 
+     * agora; ele continua valendo.
+     */
+    public void remover(final String token);
+}
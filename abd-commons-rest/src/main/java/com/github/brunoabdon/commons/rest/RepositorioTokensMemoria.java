@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link RepositorioTokens} em memória, num {@link ConcurrentHashMap}: a 
+ * validação de um token não trava nada.
+ * 
+ * <p>Um token expira depois de um tempo sem uso (validade deslizante) ou 
+ * de um tempo desde a emissão (validade absoluta), o que vier antes. Os 
+ * tokens expirados são removidos quando consultados e, de tempos em tempos,
+ * numa varredura feita durante a emissão de um token novo. Se, mesmo 
+ * assim, o repositório estiver cheio, o token emitido há mais tempo é 
+ * descartado, sem precisar percorrer os outros.</p>
+ * 
+ * <p>O padrão pode ser configurado com as propriedades de sistema 
+ * {@code abd.auth.tokens.tempoOcioso} e {@code abd.auth.tokens.tempoMaximo} 
+ * (durações ISO-8601, como {@code PT30M}) e 
+ * {@code abd.auth.tokens.tamanhoMaximo}. Veja {@link #configurado()}.</p>
+ * 
+ * @author Bruno Abdon
+ */
+public class RepositorioTokensMemoria implements RepositorioTokens {
+
+    public static final Duration TEMPO_OCIOSO_PADRAO = Duration.ofMinutes(30);
+    
+    public static final Duration TEMPO_MAXIMO_PADRAO = Duration.ofHours(12);
+    
+    public static final int TAMANHO_MAXIMO_PADRAO = 10000;
+    
+    /**
+     * De quantas em quantas emissões é feita uma varredura dos tokens 
+     * expirados.
+     */
+    private static final int INTERVALO_VARREDURA = 64;
+    
+    private static final class Entrada {
+        private final long emissao;
+        private volatile long ultimoUso;
+
+        private Entrada(final long agora) {
+            this.emissao = agora;
+            this.ultimoUso = agora;
+        }
+    }
+    
+    private final Map<String,Entrada> tokens = new ConcurrentHashMap<>();
+    
+    /**
+     * Os tokens na ordem de emissão, pra achar o mais antigo sem varrer o 
+     * mapa. Pode ter tokens que já saíram de {@link #tokens}; eles são 
+     * pulados no descarte e limpos na varredura.
+     */
+    private final Queue<String> ordemEmissao = new ConcurrentLinkedQueue<>();
+    
+    private final long tempoOcioso;
+    
+    private final long tempoMaximo;
+    
+    private final int tamanhoMaximo;
+    
+    private final AtomicInteger emissoes = new AtomicInteger();
+    
+    private final AtomicBoolean varrendo = new AtomicBoolean();
+
+    /**
+     * @param tempoOcioso quanto tempo um token vale sem ser usado.
+     * @param tempoMaximo quanto tempo um token vale desde a emissão.
+     * @param tamanhoMaximo quantos tokens podem valer ao mesmo tempo.
+     */
+    public RepositorioTokensMemoria(
+            final Duration tempoOcioso, 
+            final Duration tempoMaximo, 
+            final int tamanhoMaximo) {
+        
+        if(tamanhoMaximo < 1){
+            throw new IllegalArgumentException(
+                "Tamanho máximo inválido: " + tamanhoMaximo);
+        }
+        
+        this.tempoOcioso = tempoOcioso.toNanos();
+        this.tempoMaximo = tempoMaximo.toNanos();
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    /**
+     * Cria um repositório configurado pelas propriedades de sistema, ou com 
+     * os valores padrão.
+     * 
+     * @return o repositório.
+     */
+    public static RepositorioTokensMemoria configurado() {
+        
+        final String prefixo = "abd.auth.tokens.";
+        
+        final String tempoOcioso = System.getProperty(prefixo + "tempoOcioso");
+        
+        final String tempoMaximo = System.getProperty(prefixo + "tempoMaximo");
+        
+        return new RepositorioTokensMemoria(
+            tempoOcioso == null 
+                ? TEMPO_OCIOSO_PADRAO 
+                : Duration.parse(tempoOcioso),
+            tempoMaximo == null 
+                ? TEMPO_MAXIMO_PADRAO 
+                : Duration.parse(tempoMaximo),
+            Integer.getInteger(
+                prefixo + "tamanhoMaximo", TAMANHO_MAXIMO_PADRAO));
+    }
+
+    @Override
+    public void guardar(final String token) {
+        
+        final long agora = System.nanoTime();
+        
+        if(emissoes.incrementAndGet() % INTERVALO_VARREDURA == 0){
+            varrer(agora);
+        }
+        
+        tokens.put(token, new Entrada(agora));
+        ordemEmissao.add(token);
+        
+        //vale mesmo se outra thread estiver varrendo
+        while(tokens.size() > tamanhoMaximo){
+            if(!descartarMaisAntigo()){
+                break;
+            }
+        }
+    }
+
+    @Override
+    public boolean isValido(final String token) {
+        
+        if(token == null){
+            return false;
+        }
+        
+        final Entrada entrada = tokens.get(token);
+        
+        if(entrada == null){
+            return false;
+        }
+        
+        final long agora = System.nanoTime();
+        
+        if(expirou(entrada, agora)){
+            tokens.remove(token, entrada);
+            return false;
+        }
+        
+        entrada.ultimoUso = agora;
+        
+        return true;
+    }
+
+    @Override
+    public void remover(final String token) {
+        if(token != null){
+            tokens.remove(token);
+        }
+    }
+
+    /**
+     * @return quantos tokens estão guardados, incluindo os expirados que 
+     * ainda não foram removidos.
+     */
+    public int size() {
+        return tokens.size();
+    }
+
+    private boolean expirou(final Entrada entrada, final long agora) {
+        return agora - entrada.ultimoUso > tempoOcioso
+                || agora - entrada.emissao > tempoMaximo;
+    }
+
+    /**
+     * Descarta o token emitido há mais tempo que ainda esteja guardado.
+     * 
+     * @return se algum token foi descartado.
+     */
+    private boolean descartarMaisAntigo() {
+        String token;
+        while((token = ordemEmissao.poll()) != null){
+            if(tokens.remove(token) != null){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove os tokens expirados. Só uma thread varre por vez; as outras 
+     * seguem sem esperar.
+     */
+    private void varrer(final long agora) {
+        
+        if(!varrendo.compareAndSet(false, true)){
+            return;
+        }
+        
+        try {
+            final Iterator<Entrada> it = tokens.values().iterator();
+            
+            while(it.hasNext()){
+                if(expirou(it.next(), agora)){
+                    it.remove();
+                }
+            }
+            
+            ordemEmissao.removeIf(token -> !tokens.containsKey(token));
+        } finally {
+            varrendo.set(false);
+        }
+    }
+}
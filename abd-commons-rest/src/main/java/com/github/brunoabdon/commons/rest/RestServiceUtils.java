@@ -16,13 +16,14 @@
  */
 package com.github.brunoabdon.commons.rest;
 
+import java.util.Date;
+
 import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 
-import org.apache.commons.lang3.builder.HashCodeBuilder;
-
 /**
  *
  * @author Bruno Abdon
@@ -34,9 +35,42 @@ public class RestServiceUtils {
             final HttpHeaders headers,
             final Object entity){
         
-        final EntityTag tag = makeTag(entity, headers);
+        return responseBuilder(
+                    request, headers, entity, TagPorVersao.INSTANCE)
+                .build();
+    }
+
+    /**
+     * Monta a resposta de um GET condicional: {@code 304 Not Modified} se o
+     * ETag (ou o <i>Last-Modified</i>, quando a estratégia souber) bater com
+     * o da requisição, ou {@code 200 OK} com o elemento, caso contrário.
+     * 
+     * @param request a requisição.
+     * @param headers os headers da requisição.
+     * @param entity o elemento, possivelmente dentro de uma 
+     * {@link GenericEntity}.
+     * @param estrategia a forma de calcular o ETag.
+     * @return o builder da resposta.
+     */
+    public static Response.ResponseBuilder responseBuilder(
+            final Request request, 
+            final HttpHeaders headers,
+            final Object entity,
+            final EstrategiaTag estrategia){
+        
+        final Object thing = 
+            entity instanceof GenericEntity 
+                ? ((GenericEntity<?>)entity).getEntity() 
+                : entity;
+        
+        final EntityTag tag = estrategia.makeTag(thing, headers);
+        final Date lastModified = 
+            emSegundos(estrategia.getLastModified(thing));
 
-        Response.ResponseBuilder builder = request.evaluatePreconditions(tag);
+        Response.ResponseBuilder builder = 
+            lastModified == null
+                ? request.evaluatePreconditions(tag)
+                : request.evaluatePreconditions(lastModified, tag);
         
         if(builder==null){
             //preconditions are not met and the cache is invalid
@@ -44,22 +78,29 @@ public class RestServiceUtils {
             
             builder = Response.ok(entity);
             builder.tag(tag);
+            if(lastModified != null){
+                builder.lastModified(lastModified);
+            }
         }
-        return builder.build();
+        return builder;
     }
 
-    public static EntityTag makeTag(
-            final Object thing, final HttpHeaders httpHeaders) {
-        
-        final String accept = httpHeaders.getHeaderString(HttpHeaders.ACCEPT);
-
-        final int hashCode = 
-            new HashCodeBuilder(3,23)
-                .append(thing)
-                .append(accept)
-                .toHashCode();
-        
-        return new EntityTag(Integer.toString(hashCode));
+    /**
+     * Tira os milissegundos de uma data, já que o <i>Last-Modified</i> e o 
+     * <i>If-Modified-Since</i> só têm segundos. Sem isso, a data da 
+     * requisição seria sempre anterior à do elemento, e a resposta nunca 
+     * seria {@code 304}.
+     */
+    private static Date emSegundos(final Date data) {
+        if(data == null){
+            return null;
+        }
+        final long millis = data.getTime();
+        return new Date(millis - Math.floorMod(millis, 1000L));
+    }
 
+        public static EntityTag makeTag(
+            final Object thing, final HttpHeaders httpHeaders) {
+        return TagPorVersao.INSTANCE.makeTag(thing, httpHeaders);
     }
 }
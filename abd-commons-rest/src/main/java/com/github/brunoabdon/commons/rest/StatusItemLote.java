@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+/**
+ * A situação de um item numa resposta {@code 207 Multi-Status} das 
+ * operações em lote de {@link AbstractRestCrud}: o status HTTP que o item 
+ * teria se fosse enviado sozinho.
+ * 
+ * @author Bruno Abdon
+ * @param <K> o tipo da chave da entidade
+ */
+public class StatusItemLote<K> {
+
+    private int indice;
+    private K id;
+    private int status;
+    private String mensagem;
+
+    public StatusItemLote() {
+    }
+
+    public StatusItemLote(
+            final int indice, 
+            final K id, 
+            final int status, 
+            final String mensagem) {
+        this.indice = indice;
+        this.id = id;
+        this.status = status;
+        this.mensagem = mensagem;
+    }
+
+    /**
+     * @return a posição do item no lote enviado.
+     */
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(final int indice) {
+        this.indice = indice;
+    }
+
+    /**
+     * @return o id da entidade, se conhecido.
+     */
+    public K getId() {
+        return id;
+    }
+
+    public void setId(final K id) {
+        this.id = id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(final int status) {
+        this.status = status;
+    }
+
+    /**
+     * @return a mensagem de erro, se o item falhou.
+     */
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(final String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
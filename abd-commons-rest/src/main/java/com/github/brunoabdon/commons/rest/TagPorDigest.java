@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * {@link EstrategiaTag} que gera um ETag forte com o SHA-256 da 
+ * representação JSON do elemento. Não colide na prática, mas custa uma 
+ * serialização a mais por requisição; prefira {@link TagPorVersao} quando 
+ * as entidades tiverem versão.
+ * 
+ * <p>Elementos que não puderem ser serializados são tratados pela 
+ * estratégia alternativa ({@link TagPorHash} por padrão).</p>
+ * 
+ * @author Bruno Abdon
+ */
+public class TagPorDigest implements EstrategiaTag {
+
+    private static final Annotation[] SEM_ANOTACOES = new Annotation[0];
+    
+    private final Providers providers;
+    
+    private final EstrategiaTag alternativa;
+
+    public TagPorDigest(final Providers providers) {
+        this(providers, TagPorHash.INSTANCE);
+    }
+
+    public TagPorDigest(
+            final Providers providers, 
+            final EstrategiaTag alternativa) {
+        this.providers = providers;
+        this.alternativa = alternativa;
+    }
+
+    @Override
+    public EntityTag makeTag(
+            final Object thing, 
+            final HttpHeaders httpHeaders) {
+        
+        final MessageDigest digest = DigestUtils.getSha256Digest();
+        
+        final Collection<?> elements = 
+            thing instanceof Collection 
+                ? (Collection<?>) thing 
+                : Collections.singleton(thing);
+        
+        try (final OutputStream out = 
+                new DigestOutputStream(OutputStream.nullOutputStream(), digest)){
+            
+            for (final Object element : elements) {
+                if(!escrever(element, out)){
+                    return alternativa.makeTag(thing, httpHeaders);
+                }
+            }
+            
+        } catch (final IOException e) {
+            return alternativa.makeTag(thing, httpHeaders);
+        }
+        
+        final String accept = httpHeaders.getHeaderString(HttpHeaders.ACCEPT);
+        if(accept != null){
+            digest.update(accept.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        return new EntityTag(Hex.encodeHexString(digest.digest()));
+    }
+
+    @Override
+    public Date getLastModified(final Object thing) {
+        return alternativa.getLastModified(thing);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> boolean escrever(final T element, final OutputStream out) 
+            throws IOException {
+        
+        if(element == null) {
+            return true;
+        }
+        
+        final Class<T> type = (Class<T>) element.getClass();
+        
+        final MessageBodyWriter<T> writer = 
+            providers.getMessageBodyWriter(
+                type, type, SEM_ANOTACOES, MediaType.APPLICATION_JSON_TYPE);
+        
+        if(writer != null){
+            writer.writeTo(
+                element, 
+                type, 
+                type, 
+                SEM_ANOTACOES, 
+                MediaType.APPLICATION_JSON_TYPE, 
+                new MultivaluedHashMap<>(), 
+                out);
+        }
+        
+        return writer != null;
+    }
+}
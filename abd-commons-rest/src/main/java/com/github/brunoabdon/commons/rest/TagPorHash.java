@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+/**
+ * {@link EstrategiaTag} que usa o {@link Object#hashCode() hashCode} do 
+ * elemento. Custa o mesmo que o hashCode, que pode percorrer o grafo da 
+ * entidade e disparar carregamentos lazy, e colide fácil (32 bits). É a 
+ * alternativa de {@link TagPorVersao} pra elementos sem versão.
+ * 
+ * @author Bruno Abdon
+ */
+public class TagPorHash implements EstrategiaTag {
+
+    public static final TagPorHash INSTANCE = new TagPorHash();
+    
+    @Override
+    public EntityTag makeTag(
+            final Object thing, final HttpHeaders httpHeaders) {
+        
+        final String accept = httpHeaders.getHeaderString(HttpHeaders.ACCEPT);
+
+        final int hashCode = 
+            new HashCodeBuilder(3,23)
+                .append(thing)
+                .append(accept)
+                .toHashCode();
+        
+        return new EntityTag(Integer.toString(hashCode));
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Objects;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+
+import com.github.brunoabdon.commons.modelo.Datada;
+import com.github.brunoabdon.commons.modelo.Versionada;
+import com.github.brunoabdon.commons.util.modelo.Identifiable;
+
+/**
+ * {@link EstrategiaTag} que monta o ETag a partir da 
+ * {@link Versionada#getVersao() versão} do elemento ou, se ele não for 
+ * versionado, da sua {@link Datada#getUltimaModificacao() última 
+ * modificação}. Custa a leitura de um ou dois campos por elemento. 
+ * Elementos sem nenhum dos dois são tratados pela estratégia alternativa 
+ * ({@link TagPorHash} por padrão).
+ * 
+ * <p>Pra listas, o ETag combina a chave e a versão de cada elemento, e o 
+ * <i>Last-Modified</i> é o da modificação mais recente.</p>
+ * 
+ * @author Bruno Abdon
+ */
+public class TagPorVersao implements EstrategiaTag {
+
+    public static final TagPorVersao INSTANCE = 
+        new TagPorVersao(TagPorHash.INSTANCE);
+    
+    private final EstrategiaTag alternativa;
+
+    public TagPorVersao(final EstrategiaTag alternativa) {
+        this.alternativa = alternativa;
+    }
+
+    @Override
+    public EntityTag makeTag(
+            final Object thing, 
+            final HttpHeaders httpHeaders) {
+        
+        final String versao;
+        
+        if(thing instanceof Collection){
+            versao = versaoLista((Collection<?>) thing);
+        } else {
+            final Object v = versao(thing);
+            versao = v == null ? null : v.toString();
+        }
+        
+        final EntityTag tag;
+        
+        if(versao == null){
+            tag = alternativa.makeTag(thing, httpHeaders);
+        } else {
+            tag = makeTagVersao(versao, httpHeaders);
+        }
+        return tag;
+    }
+
+    @Override
+    public EntityTag makeTagVersao(
+            final Object versao, 
+            final HttpHeaders httpHeaders) {
+        
+        final String accept = httpHeaders.getHeaderString(HttpHeaders.ACCEPT);
+        
+        return new EntityTag(
+                versao.toString() 
+                + '-' 
+                + Integer.toHexString(Objects.hashCode(accept)));
+    }
+
+    @Override
+    public Date getLastModified(final Object thing) {
+        
+        Instant ultimaModificacao = null;
+        
+        if(thing instanceof Collection){
+            for (final Object element : (Collection<?>) thing) {
+                final Instant modificacao = ultimaModificacao(element);
+                if(modificacao == null){
+                    return alternativa.getLastModified(thing);
+                }
+                if(ultimaModificacao == null 
+                        || modificacao.isAfter(ultimaModificacao)){
+                    ultimaModificacao = modificacao;
+                }
+            }
+        } else {
+            ultimaModificacao = ultimaModificacao(thing);
+        }
+        
+        return ultimaModificacao == null 
+                ? alternativa.getLastModified(thing) 
+                : Date.from(ultimaModificacao.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    private static String versaoLista(final Collection<?> elements) {
+        
+        long hash = elements.size();
+        
+        for (final Object element : elements) {
+            final Object versao = versao(element);
+            if(versao == null){
+                return null;
+            }
+            
+            final Object id = 
+                element instanceof Identifiable 
+                    ? ((Identifiable<?>)element).getId() 
+                    : null;
+            
+            hash = 31 * hash + Objects.hashCode(id);
+            hash = 31 * hash + versao.hashCode();
+        }
+        
+        return Long.toHexString(hash);
+    }
+
+    private static Object versao(final Object thing) {
+        
+        final Object versao;
+        
+        if(thing instanceof Versionada){
+            versao = ((Versionada) thing).getVersao();
+        } else {
+            final Instant modificacao = ultimaModificacao(thing);
+            versao = modificacao == null ? null : modificacao.toEpochMilli();
+        }
+        
+        return versao;
+    }
+
+    private static Instant ultimaModificacao(final Object thing) {
+        return thing instanceof Datada 
+                ? ((Datada) thing).getUltimaModificacao() 
+                : null;
+    }
+}
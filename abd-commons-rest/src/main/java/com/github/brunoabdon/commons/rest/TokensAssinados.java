@@ -0,0 +1,284 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * {@link RepositorioTokens} sem estado: os tokens carregam a própria 
+ * validade e são assinados com HMAC-SHA256, então qualquer nó que conheça 
+ * as chaves consegue validá-los, sem consultar nada compartilhado.
+ * 
+ * <p>Um token tem a forma {@code <idChave>.<expiraEm>.<nonce>.<assinatura>}.
+ * Os tokens são assinados com a chave atual, e validados com a chave 
+ * indicada neles, o que permite trocar as chaves aos poucos: uma chave nova
+ * vira a atual e a anterior continua aceita até os tokens dela expirarem.
+ * </p>
+ * 
+ * <p>{@link #remover(String) Remover} um token (no logout) o põe numa 
+ * lista de revogados, local a cada nó e limitada em tamanho, até ele 
+ * expirar. Um revogado nunca sai da lista antes de expirar: se ela estiver
+ * cheia mesmo depois de tirar os expirados, a revogação é recusada com uma
+ * {@link IllegalStateException} e o token continua valendo.</p>
+ * 
+ * <p>As chaves podem vir da variável de ambiente 
+ * {@value #VARIAVEL_CHAVES}, no formato {@code id1=base64,id2=base64}, sendo
+ * a primeira a atual. Veja {@link #configurado()}.</p>
+ * 
+ * @author Bruno Abdon
+ */
+public class TokensAssinados implements RepositorioTokens {
+
+    public static final String VARIAVEL_CHAVES = "ABD_AUTH_CHAVES";
+    
+    public static final Duration VALIDADE_PADRAO = Duration.ofHours(12);
+    
+    public static final int TAMANHO_MAXIMO_REVOGADOS_PADRAO = 1000;
+    
+    private static final String ALGORITMO = "HmacSHA256";
+    
+    private static final int TAMANHO_NONCE = 16;
+    
+    private static final Base64.Encoder CODIFICADOR = 
+        Base64.getUrlEncoder().withoutPadding();
+    
+    private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+    
+    private final SecureRandom random = new SecureRandom();
+    
+    private final Map<String,Mac> chaves;
+    
+    private final String chaveAtual;
+    
+    private final Duration validade;
+    
+    private final int tamanhoMaximoRevogados;
+    
+    private final Map<String,Long> revogados = new ConcurrentHashMap<>();
+
+    /**
+     * @param chaves os segredos HMAC aceitos, por id. Os ids não podem ter 
+     * {@code '.'}.
+     * @param chaveAtual o id da chave usada pra assinar os tokens novos.
+     * @param validade por quanto tempo um token vale.
+     * @param tamanhoMaximoRevogados quantos tokens revogados são lembrados.
+     * @throws IllegalArgumentException se a chave atual não estiver entre as 
+     * chaves, ou se alguma chave for inválida.
+     */
+    public TokensAssinados(
+            final Map<String,byte[]> chaves, 
+            final String chaveAtual, 
+            final Duration validade,
+            final int tamanhoMaximoRevogados) {
+        
+        if(!chaves.containsKey(chaveAtual)){
+            throw new IllegalArgumentException(
+                "Chave atual desconhecida: " + chaveAtual);
+        }
+        
+        this.chaves = new LinkedHashMap<>();
+        for (final Map.Entry<String,byte[]> e : chaves.entrySet()) {
+            if(e.getKey().indexOf('.') >= 0){
+                throw new IllegalArgumentException(
+                    "Id de chave inválido: " + e.getKey());
+            }
+            this.chaves.put(e.getKey(), mac(e.getValue()));
+        }
+        
+        this.chaveAtual = chaveAtual;
+        this.validade = validade;
+        this.tamanhoMaximoRevogados = tamanhoMaximoRevogados;
+    }
+
+    /**
+     * Cria um repositório com as chaves da variável de ambiente 
+     * {@value #VARIAVEL_CHAVES} e a validade da propriedade de sistema 
+     * {@code abd.auth.tokens.tempoMaximo} (uma duração ISO-8601).
+     * 
+     * @return o repositório.
+     * @throws IllegalStateException se a variável não estiver definida.
+     */
+    public static TokensAssinados configurado() {
+        
+        final String valor = System.getenv(VARIAVEL_CHAVES);
+        if(valor == null){
+            throw new IllegalStateException(VARIAVEL_CHAVES + " indefinida.");
+        }
+        
+        final Map<String,byte[]> chaves = new LinkedHashMap<>();
+        for (final String item : valor.split(",")) {
+            final int igual = item.indexOf('=');
+            if(igual < 1){
+                throw new IllegalStateException(
+                    VARIAVEL_CHAVES + " mal formada.");
+            }
+            chaves.put(
+                item.substring(0, igual).trim(), 
+                Base64.getDecoder().decode(item.substring(igual+1).trim()));
+        }
+        
+        final String validade = 
+            System.getProperty("abd.auth.tokens.tempoMaximo");
+        
+        return new TokensAssinados(
+            chaves, 
+            chaves.keySet().iterator().next(), 
+            validade == null ? VALIDADE_PADRAO : Duration.parse(validade),
+            TAMANHO_MAXIMO_REVOGADOS_PADRAO);
+    }
+
+    @Override
+    public String emitir() {
+        
+        final byte[] nonce = new byte[TAMANHO_NONCE];
+        random.nextBytes(nonce);
+        
+        final long expiraEm = Instant.now().plus(validade).getEpochSecond();
+        
+        final String conteudo = 
+            chaveAtual + "." + expiraEm + "." + CODIFICADOR.encodeToString(nonce);
+        
+        return conteudo 
+                + "." 
+                + CODIFICADOR.encodeToString(assinar(chaveAtual, conteudo));
+    }
+
+    /**
+     * Não faz nada: os tokens não precisam ser guardados.
+     */
+    @Override
+    public void guardar(final String token) {
+    }
+
+    @Override
+    public boolean isValido(final String token) {
+        
+        final long expiraEm = verificar(token);
+        
+        return expiraEm > Instant.now().getEpochSecond()
+                && !revogados.containsKey(token);
+    }
+
+    /**
+     * Revoga o token até ele expirar.
+     * 
+     * @param token o token.
+     * @throws IllegalStateException se a lista de revogados estiver cheia.
+     */
+    @Override
+    public synchronized void remover(final String token) {
+        
+        final long expiraEm = verificar(token);
+        
+        final long agora = Instant.now().getEpochSecond();
+        
+        if(expiraEm <= agora || revogados.containsKey(token)){
+            return;
+        }
+        
+        if(revogados.size() >= tamanhoMaximoRevogados){
+            revogados.values().removeIf(expira -> expira <= agora);
+        }
+        
+        //tirar um revogado que ainda vale faria ele voltar a valer
+        if(revogados.size() >= tamanhoMaximoRevogados){
+            throw new IllegalStateException("Lista de revogados cheia.");
+        }
+        
+        revogados.put(token, expiraEm);
+    }
+
+    /**
+     * Confere a assinatura do token.
+     * 
+     * @return quando o token expira, em segundos desde a época, ou 
+     * {@code -1} se o token for inválido.
+     */
+    private long verificar(final String token) {
+        
+        if(token == null){
+            return -1;
+        }
+        
+        final int ultimoPonto = token.lastIndexOf('.');
+        final int primeiroPonto = token.indexOf('.');
+        final int segundoPonto = token.indexOf('.', primeiroPonto + 1);
+        
+        if(primeiroPonto < 1 
+                || segundoPonto < 0 
+                || ultimoPonto <= segundoPonto){
+            return -1;
+        }
+        
+        final String idChave = token.substring(0, primeiroPonto);
+        
+        if(!chaves.containsKey(idChave)){
+            return -1;
+        }
+        
+        final String conteudo = token.substring(0, ultimoPonto);
+        
+        final byte[] assinatura;
+        final long expiraEm;
+        try {
+            assinatura = DECODIFICADOR.decode(token.substring(ultimoPonto+1));
+            expiraEm = 
+                Long.parseLong(token.substring(primeiroPonto+1, segundoPonto));
+        } catch (final IllegalArgumentException e) {
+            return -1;
+        }
+        
+        return MessageDigest.isEqual(assinatura, assinar(idChave, conteudo))
+                ? expiraEm
+                : -1;
+    }
+
+    private byte[] assinar(final String idChave, final String conteudo) {
+        
+        final Mac mac;
+        try {
+            //o Mac nao eh thread-safe; cada assinatura usa uma copia
+            mac = (Mac) chaves.get(idChave).clone();
+        } catch (final CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        
+        return mac.doFinal(conteudo.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static Mac mac(final byte[] segredo) {
+        try {
+            final Mac mac = Mac.getInstance(ALGORITMO);
+            mac.init(new SecretKeySpec(segredo, ALGORITMO));
+            return mac;
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalArgumentException("Chave inválida.", e);
+        }
+    }
+}
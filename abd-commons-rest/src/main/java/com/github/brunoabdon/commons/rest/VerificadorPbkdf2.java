@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * {@link VerificadorSenha} com PBKDF2 (HMAC-SHA256). O hash guardado tem a 
+ * forma {@code pbkdf2-sha256$<iteracoes>$<sal>$<hash>}, com sal e hash em 
+ * base64, e pode ser gerado com {@link #gerarHash(String, int)}, por 
+ * exemplo no {@code jshell} com este jar no classpath. O custo é o número 
+ * de iterações, guardado junto com o hash: aumentá-lo só exige gerar um 
+ * hash novo.
+ * 
+ * @author Bruno Abdon
+ */
+public class VerificadorPbkdf2 implements VerificadorSenha {
+
+    public static final String PREFIXO = "pbkdf2-sha256";
+    
+    public static final int ITERACOES_PADRAO = 310000;
+    
+    private static final String ALGORITMO = "PBKDF2WithHmacSHA256";
+    
+    private static final int TAMANHO_SAL = 16;
+    
+    private static final int TAMANHO_HASH = 32;
+    
+    private final int iteracoes;
+    
+    private final byte[] sal;
+    
+    private final byte[] hash;
+
+    /**
+     * @param hashGuardado o hash da senha, gerado por 
+     * {@link #gerarHash(String, int)}.
+     * @throws IllegalArgumentException se o hash for mal formado.
+     */
+    public VerificadorPbkdf2(final String hashGuardado) {
+        
+        final String[] partes = hashGuardado.split("\\$");
+        
+        if(partes.length != 4 || !partes[0].equals(PREFIXO)){
+            throw new IllegalArgumentException("Hash de senha mal formado.");
+        }
+        
+        this.iteracoes = Integer.parseInt(partes[1]);
+        this.sal = Base64.getDecoder().decode(partes[2]);
+        this.hash = Base64.getDecoder().decode(partes[3]);
+        
+        if(iteracoes < 1 || hash.length == 0){
+            throw new IllegalArgumentException("Hash de senha mal formado.");
+        }
+    }
+
+    /**
+     * Gera o hash de uma senha, com um sal aleatório.
+     * 
+     * @param senha a senha.
+     * @param iteracoes o custo do hash.
+     * @return o hash, no formato aceito pelo construtor.
+     */
+    public static String gerarHash(final String senha, final int iteracoes) {
+        
+        final byte[] sal = new byte[TAMANHO_SAL];
+        new SecureRandom().nextBytes(sal);
+        
+        final Base64.Encoder base64 = Base64.getEncoder();
+        
+        return PREFIXO 
+                + "$" + iteracoes 
+                + "$" + base64.encodeToString(sal)
+                + "$" + base64.encodeToString(
+                            derivar(senha, sal, iteracoes, TAMANHO_HASH));
+    }
+
+    @Override
+    public boolean verificar(final String senha) {
+        
+        if(senha == null){
+            return false;
+        }
+        
+        return MessageDigest.isEqual(
+                hash, 
+                derivar(senha, sal, iteracoes, hash.length));
+    }
+
+    private static byte[] derivar(
+            final String senha, 
+            final byte[] sal, 
+            final int iteracoes, 
+            final int tamanho) {
+        
+        final PBEKeySpec spec = 
+            new PBEKeySpec(senha.toCharArray(), sal, iteracoes, tamanho * 8);
+        try {
+            return SecretKeyFactory
+                    .getInstance(ALGORITMO)
+                    .generateSecret(spec)
+                    .getEncoded();
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
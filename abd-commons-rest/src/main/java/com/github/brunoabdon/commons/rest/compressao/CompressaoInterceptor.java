@@ -0,0 +1,293 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest.compressao;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.ReaderInterceptor;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+/**
+ * Compressão {@code gzip}/{@code deflate} das mensagens HTTP, tanto no 
+ * servidor quanto no client.
+ * 
+ * <p>Na leitura, descomprime qualquer mensagem com {@code Content-Encoding}
+ * {@code gzip}, {@code x-gzip} ou {@code deflate}. Na escrita, comprime as
+ * mensagens marcadas por {@link NegociacaoCompressaoFilter} com a 
+ * codificação aceita pelo client, mas só quando o corpo passa do 
+ * {@link #getLimiar() limiar}: corpos pequenos vão sem compressão.</p>
+ * 
+ * <p>O nível de compressão e o limiar podem ser passados no construtor ou 
+ * nas propriedades de sistema {@value #PROPRIEDADE_NIVEL} e 
+ * {@value #PROPRIEDADE_LIMIAR}.</p>
+ * 
+ * @author Bruno Abdon
+ */
+@Provider
+public class CompressaoInterceptor 
+        implements WriterInterceptor, ReaderInterceptor {
+
+    public static final String GZIP = "gzip";
+    
+    public static final String DEFLATE = "deflate";
+    
+    static final String PROPRIEDADE_CODIFICACAO = 
+        "com.github.brunoabdon.commons.rest.compressao.codificacao";
+    
+    public static final String PROPRIEDADE_NIVEL = "abd.compressao.nivel";
+    
+    public static final String PROPRIEDADE_LIMIAR = "abd.compressao.limiar";
+    
+    public static final int LIMIAR_PADRAO = 1024;
+    
+    private static final int TAMANHO_BUFFER = 8192;
+    
+    private final int nivel;
+    
+    private final int limiar;
+
+    public CompressaoInterceptor() {
+        this(
+            Integer.getInteger(
+                PROPRIEDADE_NIVEL, Deflater.DEFAULT_COMPRESSION),
+            Integer.getInteger(PROPRIEDADE_LIMIAR, LIMIAR_PADRAO));
+    }
+
+    /**
+     * @param nivel o nível de compressão, de 0 a 9, ou 
+     * {@link Deflater#DEFAULT_COMPRESSION}.
+     * @param limiar a partir de quantos bytes o corpo é comprimido.
+     */
+    public CompressaoInterceptor(final int nivel, final int limiar) {
+        if(nivel != Deflater.DEFAULT_COMPRESSION 
+                && (nivel < Deflater.NO_COMPRESSION 
+                    || nivel > Deflater.BEST_COMPRESSION)){
+            throw new IllegalArgumentException(
+                "Nível de compressão inválido: " + nivel);
+        }
+        this.nivel = nivel;
+        this.limiar = limiar;
+    }
+
+    public int getNivel() {
+        return nivel;
+    }
+
+    public int getLimiar() {
+        return limiar;
+    }
+
+    @Override
+    public Object aroundReadFrom(final ReaderInterceptorContext context) 
+            throws IOException {
+        
+        final MultivaluedMap<String,String> headers = context.getHeaders();
+        
+        final String codificacao = 
+            headers.getFirst(HttpHeaders.CONTENT_ENCODING);
+        
+        if(codificacao != null){
+            final String cod = codificacao.trim();
+            
+            final InputStream in = context.getInputStream();
+            
+            if(cod.equalsIgnoreCase(GZIP) || cod.equalsIgnoreCase("x-gzip")){
+                context.setInputStream(new GZIPInputStream(in));
+                headers.remove(HttpHeaders.CONTENT_ENCODING);
+            } else if(cod.equalsIgnoreCase(DEFLATE)){
+                context.setInputStream(new InflaterInputStream(in));
+                headers.remove(HttpHeaders.CONTENT_ENCODING);
+            }
+        }
+        
+        return context.proceed();
+    }
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) 
+            throws IOException {
+        
+        final String codificacao = 
+            (String) context.getProperty(PROPRIEDADE_CODIFICACAO);
+        
+        if(codificacao == null 
+                || context.getHeaders()
+                          .containsKey(HttpHeaders.CONTENT_ENCODING)){
+            context.proceed();
+            return;
+        }
+        
+        final SaidaComprimida saida = 
+            new SaidaComprimida(
+                context.getOutputStream(), 
+                context.getHeaders(), 
+                codificacao);
+        
+        context.setOutputStream(saida);
+        
+        try {
+            context.proceed();
+            saida.terminar();
+        } finally {
+            saida.liberar();
+        }
+    }
+
+    /**
+     * Um {@link GZIPOutputStream} com nível de compressão, que expõe o 
+     * compressor pra ele ser liberado sem fechar a saída original.
+     */
+    private static class Gzip extends GZIPOutputStream {
+
+        private Gzip(final OutputStream out, final int nivel) 
+                throws IOException {
+            super(out, TAMANHO_BUFFER, true);
+            def.setLevel(nivel);
+        }
+
+        private Deflater getDeflater() {
+            return def;
+        }
+    }
+
+    /**
+     * Guarda os primeiros bytes até passar do limiar; aí marca a mensagem 
+     * como comprimida e passa a comprimir tudo. Os headers só podem mudar 
+     * antes do primeiro byte chegar na saída original.
+     */
+    private class SaidaComprimida extends OutputStream {
+
+        private final OutputStream original;
+        
+        private final MultivaluedMap<String,Object> headers;
+        
+        private final String codificacao;
+        
+        private ByteArrayOutputStream inicio = new ByteArrayOutputStream();
+        
+        private DeflaterOutputStream destino;
+        
+        private Deflater deflater;
+        
+        private boolean terminada;
+
+        private SaidaComprimida(
+                final OutputStream original, 
+                final MultivaluedMap<String,Object> headers,
+                final String codificacao) {
+            this.original = original;
+            this.headers = headers;
+            this.codificacao = codificacao;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) 
+                throws IOException {
+            
+            if(terminada){
+                throw new IOException("Saída já terminada.");
+            }
+            
+            if(destino == null){
+                inicio.write(b, off, len);
+                if(inicio.size() >= limiar){
+                    comprimir();
+                }
+            } else {
+                destino.write(b, off, len);
+            }
+        }
+
+        private void comprimir() throws IOException {
+            
+            headers.putSingle(HttpHeaders.CONTENT_ENCODING, codificacao);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            
+            //syncFlush, pra respostas em streaming continuarem saindo
+            if(codificacao.equals(GZIP)){
+                final Gzip gzip = new Gzip(original, nivel);
+                deflater = gzip.getDeflater();
+                destino = gzip;
+            } else {
+                deflater = new Deflater(nivel);
+                destino = 
+                    new DeflaterOutputStream(
+                        original, deflater, TAMANHO_BUFFER, true);
+            }
+            
+            inicio.writeTo(destino);
+            inicio = null;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            //ainda decidindo: segura os bytes ate o limiar ou o fim
+            if(destino != null){
+                destino.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            terminar();
+        }
+
+        private void terminar() throws IOException {
+            if(terminada){
+                return;
+            }
+            terminada = true;
+            
+            if(destino == null){
+                inicio.writeTo(original);
+                inicio = null;
+            } else {
+                destino.finish();
+            }
+            original.flush();
+        }
+
+        /**
+         * Libera a memória nativa do compressor, mesmo se a escrita falhou 
+         * no meio. Depois disso, a saída não aceita mais nada.
+         */
+        private void liberar() {
+            terminada = true;
+            if(deflater != null){
+                deflater.end();
+            }
+        }
+    }
+}
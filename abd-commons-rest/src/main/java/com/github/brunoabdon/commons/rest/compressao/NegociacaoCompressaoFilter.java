@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest.compressao;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Provider;
+
+import static com.github.brunoabdon.commons.rest.compressao.CompressaoInterceptor.DEFLATE;
+import static com.github.brunoabdon.commons.rest.compressao.CompressaoInterceptor.GZIP;
+
+/**
+ * Escolhe, pelo header {@code Accept-Encoding} da requisição, se a 
+ * resposta pode ser comprimida por {@link CompressaoInterceptor}, e com que 
+ * codificação ({@code gzip} tem preferência sobre {@code deflate}).
+ * 
+ * @author Bruno Abdon
+ */
+@Provider
+public class NegociacaoCompressaoFilter implements ContainerResponseFilter {
+
+    @Override
+    public void filter(
+            final ContainerRequestContext requestCtx, 
+            final ContainerResponseContext responseCtx) throws IOException {
+        
+        //o 304 tem que repetir o Vary da resposta 200 que ele valida
+        final boolean naoModificado = 
+            responseCtx.getStatus() 
+                == Response.Status.NOT_MODIFIED.getStatusCode();
+        
+        if(!responseCtx.hasEntity() && !naoModificado){
+            return;
+        }
+        
+        responseCtx
+            .getHeaders()
+            .add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        
+        if(naoModificado){
+            return;
+        }
+        
+        final String codificacao = 
+            escolher(requestCtx.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        
+        if(codificacao != null){
+            requestCtx.setProperty(
+                CompressaoInterceptor.PROPRIEDADE_CODIFICACAO, codificacao);
+        }
+    }
+
+    private static String escolher(final String acceptEncoding) {
+        
+        if(acceptEncoding == null){
+            return null;
+        }
+        
+        boolean gzip = false, deflate = false, qualquer = false;
+        
+        for (final String item : acceptEncoding.split(",")) {
+            final String[] partes = item.split(";");
+            
+            final String nome = partes[0].trim().toLowerCase(Locale.ROOT);
+            
+            if(recusado(partes)){
+                continue;
+            }
+            
+            switch (nome) {
+                case GZIP: case "x-gzip": gzip = true; break;
+                case DEFLATE: deflate = true; break;
+                case "*": qualquer = true; break;
+                default: break;
+            }
+        }
+        
+        return gzip || qualquer ? GZIP : deflate ? DEFLATE : null;
+    }
+
+    private static boolean recusado(final String[] partes) {
+        for (int i = 1; i < partes.length; i++) {
+            final String parametro = partes[i].trim();
+            if(parametro.startsWith("q=")){
+                try {
+                    return Double.parseDouble(parametro.substring(2)) <= 0;
+                } catch (final NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
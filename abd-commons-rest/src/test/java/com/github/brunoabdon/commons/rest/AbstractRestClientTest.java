@@ -0,0 +1,414 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import com.github.brunoabdon.commons.util.modelo.Identifiable;
+
+import org.junit.jupiter.api.Test;
+
+public class AbstractRestClientTest {
+
+    public static class Coisa implements Identifiable<Integer> {
+        private final Integer id;
+
+        public Coisa(final Integer id) {
+            this.id = id;
+        }
+
+        @Override
+        public Integer getId() {
+            return id;
+        }
+    }
+
+    private static class Cliente 
+            extends AbstractRestClient<RESTResponseException> {
+        private Cliente() {
+            super(
+                MediaType.APPLICATION_JSON_TYPE, 
+                MediaType.APPLICATION_JSON_TYPE, 
+                e -> {throw e;});
+        }
+    }
+
+    private static final GenericType<List<Coisa>> LISTA = 
+        new GenericType<List<Coisa>>() {};
+
+    private final ServidorFalso servidor = new ServidorFalso();
+    
+    private final Cliente cliente = new Cliente();
+    
+    private final WebTarget coisa = 
+        servidor.alvo("http://servidor/coisas/{id}");
+
+    private final WebTarget coisas = servidor.alvo("http://servidor/coisas");
+
+    @Test
+    public void naoModificadaDevolveAGuardada() throws RESTResponseException {
+        cliente.ativarCacheRespostas(10, Duration.ofMinutes(1));
+        
+        final Coisa um = new Coisa(1);
+        servidor.responderCom(pedido -> 
+            pedido.cabecalhos.containsKey(HttpHeaders.IF_NONE_MATCH)
+                ? Response.notModified().build()
+                : Response.ok(um).tag("v1").build());
+        
+        assertSame(um, cliente.get(coisa, Coisa.class, 1));
+        assertSame(um, cliente.get(coisa, Coisa.class, 1));
+        
+        assertEquals(
+            new EntityTag("v1"), 
+            servidor.pedidos.get(1).cabecalhos.get(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    @Test
+    public void naoModificadaSemPedirEhErro() {
+        cliente.ativarCacheRespostas(10, Duration.ofMinutes(1));
+        
+        servidor.responderCom(pedido -> Response.notModified().build());
+        
+        final RESTResponseException e = 
+            assertThrows(
+                RESTResponseException.class, 
+                () -> cliente.get(coisa, Coisa.class, 1));
+        
+        assertEquals(
+            Response.Status.NOT_MODIFIED.getStatusCode(), 
+            e.getStatusInfo().getStatusCode());
+        assertFalse(
+            servidor.pedidos.get(0)
+                .cabecalhos.containsKey(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    @Test
+    public void guardadaDeOutroTipoNaoEhRevalidada() 
+            throws RESTResponseException {
+        cliente.ativarCacheRespostas(10, Duration.ofMinutes(1));
+        
+        final Coisa um = new Coisa(1);
+        servidor.responderCom(pedido -> Response.ok(um).tag("v1").build());
+        cliente.get(coisa, Coisa.class, 1);
+        
+        servidor.responderCom(
+            pedido -> Response.ok(List.of(um)).tag("v1").build());
+        final List<Coisa> lista = 
+            cliente.get(
+                (alvo, id) -> alvo.resolveTemplate("id", id), 
+                LISTA, 
+                MediaType.APPLICATION_JSON_TYPE, 
+                coisa, 
+                1);
+        
+        assertEquals(List.of(um), lista);
+        assertFalse(
+            servidor.pedidos.get(1)
+                .cabecalhos.containsKey(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    @Test
+    public void getsIguaisSimultaneosFazemUmaRequisicao() throws Exception {
+        cliente.ativarAgrupamentoGets();
+        
+        final Coisa um = new Coisa(1);
+        final CountDownLatch liberar = new CountDownLatch(1);
+        servidor.responderCom(pedido -> {
+            aguardar(liberar);
+            return Response.ok(um).build();
+        });
+        
+        final FutureTask<Coisa> primeiro = 
+            emOutraThread(() -> cliente.get(coisa, Coisa.class, 1));
+        final FutureTask<Coisa> segundo = 
+            emOutraThread(() -> cliente.get(coisa, Coisa.class, 1));
+        liberar.countDown();
+        
+        assertSame(um, primeiro.get(5, TimeUnit.SECONDS));
+        assertSame(um, segundo.get(5, TimeUnit.SECONDS));
+        assertEquals(1, servidor.pedidos.size());
+        
+        cliente.get(coisa, Coisa.class, 1);
+        assertEquals(2, servidor.pedidos.size());
+    }
+
+    @Test
+    public void getsAgrupadosRecebemOMesmoErro() throws Exception {
+        cliente.ativarAgrupamentoGets();
+        
+        final CountDownLatch liberar = new CountDownLatch(1);
+        servidor.responderCom(pedido -> {
+            aguardar(liberar);
+            return Response.serverError().build();
+        });
+        
+        final FutureTask<Coisa> primeiro = 
+            emOutraThread(() -> cliente.get(coisa, Coisa.class, 1));
+        final FutureTask<Coisa> segundo = 
+            emOutraThread(() -> cliente.get(coisa, Coisa.class, 1));
+        liberar.countDown();
+        
+        for (final FutureTask<Coisa> get : List.of(primeiro, segundo)) {
+            final ExecutionException e = 
+                assertThrows(
+                    ExecutionException.class, 
+                    () -> get.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof RESTResponseException);
+        }
+        assertEquals(1, servidor.pedidos.size());
+    }
+
+    @Test
+    public void loteCheioVaiNumaRequisicao() throws Exception {
+        cliente.ativarLotesGets(2, Duration.ofMinutes(1), "id");
+        
+        final Coisa um = new Coisa(1);
+        servidor.responderCom(pedido -> Response.ok(List.of(um)).build());
+        
+        final CompletableFuture<Coisa> primeiro = getEmLote(1);
+        final CompletableFuture<Coisa> repetido = getEmLote(1);
+        final CompletableFuture<Coisa> ausente = getEmLote(2);
+        
+        assertSame(um, primeiro.get(5, TimeUnit.SECONDS));
+        assertSame(um, repetido.get(5, TimeUnit.SECONDS));
+        assertStatus(Response.Status.NOT_FOUND, ausente);
+        
+        assertEquals(1, servidor.pedidos.size());
+        assertEquals(
+            URI.create("http://servidor/coisas?id=1&id=2"), 
+            servidor.pedidos.get(0).uri);
+    }
+
+    @Test
+    public void loteVaiNoFimDaJanela() throws Exception {
+        cliente.ativarLotesGets(10, Duration.ofMillis(10), "id");
+        
+        servidor.responderCom(
+            pedido -> Response.ok(List.of(new Coisa(1))).build());
+        
+        assertEquals(
+            Integer.valueOf(1), 
+            getEmLote(1).get(5, TimeUnit.SECONDS).getId());
+        assertEquals(1, servidor.pedidos.size());
+    }
+
+    @Test
+    public void envioFalhandoFalhaOLote() {
+        cliente.ativarLotesGets(2, Duration.ofMinutes(1), "id");
+        
+        servidor.responderCom(pedido -> {
+            throw new IllegalStateException("requisição mal montada");
+        });
+        
+        for (final CompletableFuture<Coisa> get 
+                : List.of(getEmLote(1), getEmLote(2))) {
+            final ExecutionException e = 
+                assertThrows(
+                    ExecutionException.class, 
+                    () -> get.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void respostaDeErroFalhaOLote() {
+        cliente.ativarLotesGets(2, Duration.ofMinutes(1), "id");
+        
+        servidor.responderCom(pedido -> Response.serverError().build());
+        
+        for (final CompletableFuture<Coisa> get 
+                : List.of(getEmLote(1), getEmLote(2))) {
+            assertStatus(Response.Status.INTERNAL_SERVER_ERROR, get);
+        }
+    }
+
+    @Test
+    public void repeteGetQuandoOServidorEstaIndisponivel() 
+            throws RESTResponseException {
+        configurarResiliencia(3, null, null);
+        
+        final Coisa um = new Coisa(1);
+        final AtomicInteger tentativas = new AtomicInteger();
+        servidor.responderCom(pedido -> 
+            tentativas.incrementAndGet() < 3
+                ? Response.status(Response.Status.SERVICE_UNAVAILABLE).build()
+                : Response.ok(um).build());
+        
+        assertSame(um, cliente.get(coisa, Coisa.class, 1));
+        assertEquals(3, servidor.pedidos.size());
+    }
+
+    @Test
+    public void desisteNoMaximoDeTentativas() {
+        configurarResiliencia(3, null, null);
+        
+        servidor.responderCom(pedido -> 
+            Response.status(Response.Status.SERVICE_UNAVAILABLE).build());
+        
+        assertThrows(
+            RESTResponseException.class, 
+            () -> cliente.get(coisa, Coisa.class, 1));
+        assertEquals(3, servidor.pedidos.size());
+    }
+
+    @Test
+    public void naoRepetePost() {
+        configurarResiliencia(3, null, null);
+        
+        servidor.responderCom(pedido -> 
+            Response.status(Response.Status.SERVICE_UNAVAILABLE).build());
+        
+        assertThrows(
+            RESTResponseException.class, 
+            () -> cliente.create(coisas, new Coisa(1), Coisa.class));
+        assertEquals(1, servidor.pedidos.size());
+    }
+
+    @Test
+    public void disjuntorAbertoNaoFazRequisicao() {
+        configurarResiliencia(null, 0.5, Duration.ofMinutes(1));
+        
+        servidor.responderCom(pedido -> Response.serverError().build());
+        
+        for (int i = 0; i < 20; i++) {
+            assertThrows(
+                RESTResponseException.class, 
+                () -> cliente.get(coisa, Coisa.class, 1));
+        }
+        
+        final RESTClientRTException e = 
+            assertThrows(
+                RESTClientRTException.class, 
+                () -> cliente.get(coisa, Coisa.class, 1));
+        assertEquals(RESTClientRTException.CIRCUITO_ABERTO, e.getCode());
+        assertEquals(20, servidor.pedidos.size());
+    }
+
+    @Test
+    public void falhaInesperadaNaoPrendeOMeioAberto() throws Exception {
+        configurarResiliencia(null, 0.5, Duration.ofMillis(100));
+        
+        servidor.responderCom(pedido -> Response.serverError().build());
+        for (int i = 0; i < 20; i++) {
+            assertThrows(
+                RESTResponseException.class, 
+                () -> cliente.get(coisa, Coisa.class, 1));
+        }
+        
+        //a requisicao de teste falha sem resposta
+        servidor.responderCom(pedido -> {
+            throw new IllegalStateException("inesperado");
+        });
+        Thread.sleep(150);
+        assertThrows(
+            IllegalStateException.class, 
+            () -> cliente.get(coisa, Coisa.class, 1));
+        
+        final Coisa um = new Coisa(1);
+        servidor.responderCom(pedido -> Response.ok(um).build());
+        Thread.sleep(150);
+        
+        assertSame(um, cliente.get(coisa, Coisa.class, 1));
+    }
+
+    private void configurarResiliencia(
+            final Integer maxTentativas, 
+            final Double taxaFalhas,
+            final Duration tempoAberto) {
+        
+        final ConfiguracaoResiliencia configuracao = 
+            new ConfiguracaoResiliencia();
+        configuracao.setMaxTentativas(maxTentativas);
+        configuracao.setEsperaInicial(Duration.ZERO);
+        configuracao.setTaxaFalhasDisjuntor(taxaFalhas);
+        if(tempoAberto != null){
+            configuracao.setTempoDisjuntorAberto(tempoAberto);
+        }
+        cliente.configurarResiliencia(configuracao);
+    }
+
+    private CompletableFuture<Coisa> getEmLote(final int id) {
+        return cliente.getEmLote(coisas, LISTA, id).toCompletableFuture();
+    }
+
+    private static void assertStatus(
+            final Response.Status status, 
+            final CompletableFuture<?> get) {
+        final ExecutionException e = 
+            assertThrows(
+                ExecutionException.class, 
+                () -> get.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RESTResponseException);
+        assertEquals(
+            status.getStatusCode(), 
+            ((RESTResponseException) e.getCause())
+                .getStatusInfo()
+                .getStatusCode());
+    }
+
+    /**
+     * Roda a tarefa numa thread nova e só volta quando ela parar, esperando 
+     * a resposta do servidor ou a de outra requisição.
+     */
+    private static <X> FutureTask<X> emOutraThread(final Callable<X> tarefa) {
+        final FutureTask<X> future = new FutureTask<>(tarefa);
+        final Thread thread = new Thread(future);
+        thread.setDaemon(true);
+        thread.start();
+        
+        final long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while(thread.getState() != Thread.State.WAITING){
+            if(System.nanoTime() > limite){
+                fail("A thread não parou.");
+            }
+            Thread.yield();
+        }
+        return future;
+    }
+
+    private static void aguardar(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.Response;
+
+import com.github.brunoabdon.commons.dal.DalException;
+import com.github.brunoabdon.commons.dal.Dao;
+import com.github.brunoabdon.commons.dal.ResultadoLote;
+import com.github.brunoabdon.commons.util.modelo.Identifiable;
+
+import org.junit.jupiter.api.Test;
+
+public class AbstractRestCrudTest {
+
+    public static class Coisa implements Identifiable<Integer> {
+        private Integer id;
+        
+        @Override
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(final Integer id) {
+            this.id = id;
+        }
+    }
+
+    public static class CoisasRS 
+            extends AbstractRestCrud<Coisa,Integer,Integer> {
+        @Override
+        protected Integer getFullId(final Integer pathId) {
+            return pathId;
+        }
+        
+        @Override
+        protected Dao<Coisa,Integer> getDao() {
+            return null;
+        }
+    }
+
+    public static class MesesRS 
+            extends AbstractRestCrud<Coisa,Integer,YearMonth> {
+        @Override
+        protected Integer getFullId(final YearMonth pathId) {
+            return pathId.getYear() * 100 + pathId.getMonthValue();
+        }
+        
+        @Override
+        protected Dao<Coisa,Integer> getDao() {
+            return null;
+        }
+    }
+
+    public static class UuidsRS 
+            extends AbstractRestCrud<Coisa,Integer,UUID> {
+        @Override
+        protected Integer getFullId(final UUID pathId) {
+            return pathId.hashCode();
+        }
+        
+        @Override
+        protected Dao<Coisa,Integer> getDao() {
+            return null;
+        }
+    }
+
+    /**
+     * Deleta em lote em partes de dois itens. Uma parte com uma das chaves
+     * quebradas falha inteira.
+     */
+    public static class LotesRS 
+            extends AbstractRestCrud<Coisa,Integer,Integer> {
+        
+        private final Set<Integer> quebradas;
+        
+        private final boolean partesEmTransacoesProprias;
+        
+        private final List<List<Integer>> partes = new ArrayList<>();
+
+        public LotesRS(
+                final Set<Integer> quebradas, 
+                final boolean partesEmTransacoesProprias) {
+            this.quebradas = quebradas;
+            this.partesEmTransacoesProprias = partesEmTransacoesProprias;
+        }
+
+        @Override
+        protected Integer getFullId(final Integer pathId) {
+            return pathId;
+        }
+
+        @Override
+        protected boolean isPartesEmTransacoesProprias() {
+            return partesEmTransacoesProprias;
+        }
+
+        @Override
+        protected int getTamanhoParteLote() {
+            return 2;
+        }
+
+        @Override
+        protected Dao<Coisa,Integer> getDao() {
+            return new Dao<Coisa,Integer>() {
+                @Override
+                public Coisa find(final Integer key) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void criar(final Coisa entity) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public Coisa atualizar(final Integer key, final Coisa entity){
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void deletar(final Integer key) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public ResultadoLote<Integer> deletarTodos(
+                        final Collection<Integer> keys) throws DalException {
+                    partes.add(new ArrayList<>(keys));
+                    if(keys.stream().anyMatch(quebradas::contains)){
+                        throw new DalException("QUEBROU");
+                    }
+                    final ResultadoLote<Integer> resultado = 
+                        new ResultadoLote<>();
+                    int indice = 0;
+                    for (final Integer key : keys) {
+                        resultado.ok(indice++, key);
+                    }
+                    return resultado;
+                }
+            };
+        }
+    }
+
+    @Test
+    public void idDoCaminhoPorValueOfOuFromString() {
+        assertEquals(Integer.valueOf(42), new CoisasRS().fromPathId("42"));
+        final UUID uuid = UUID.randomUUID();
+        assertEquals(uuid, new UuidsRS().fromPathId(uuid.toString()));
+    }
+
+    @Test
+    public void idSemConversorPedeFromPathId() {
+        assertThrows(
+            IllegalStateException.class, 
+            () -> new MesesRS().fromPathId("2024-02"));
+    }
+
+    @Test
+    public void idInvalido() {
+        assertThrows(
+            IllegalArgumentException.class, 
+            () -> new CoisasRS().fromPathId("x"));
+    }
+
+    @Test
+    public void loteComIdRepetidoEhRecusado() {
+        final LotesRS recurso = new LotesRS(Set.of(), false);
+        
+        assertThrows(
+            BadRequestException.class, 
+            () -> recurso.deletarLote(List.of(1, 2, 1)));
+        assertTrue(recurso.partes.isEmpty());
+    }
+
+    @Test
+    public void parteFalhandoDesfazOLote() {
+        final LotesRS recurso = new LotesRS(Set.of(3), false);
+        
+        final WebApplicationException e = 
+            assertThrows(
+                WebApplicationException.class, 
+                () -> recurso.deletarLote(List.of(1, 2, 3, 4)));
+        
+        assertEquals(
+            Response.Status.CONFLICT.getStatusCode(), 
+            e.getResponse().getStatus());
+        assertEquals("QUEBROU", e.getResponse().getEntity());
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4)), recurso.partes);
+    }
+
+    @Test
+    public void parteFalhandoEmTransacaoPropriaSoFalhaOsSeusItens() {
+        final LotesRS recurso = new LotesRS(Set.of(3), true);
+        
+        final Response response = recurso.deletarLote(List.of(1, 2, 3, 4, 5));
+        
+        assertEquals(AbstractRestCrud.MULTI_STATUS, response.getStatus());
+        
+        final List<Integer> status = new ArrayList<>();
+        final List<Integer> indices = new ArrayList<>();
+        for (final StatusItemLote<?> item : itens(response)) {
+            status.add(item.getStatus());
+            indices.add(item.getIndice());
+        }
+        
+        final int ok = Response.Status.NO_CONTENT.getStatusCode();
+        final int conflito = Response.Status.CONFLICT.getStatusCode();
+        assertEquals(List.of(ok, ok, conflito, conflito, ok), status);
+        assertEquals(List.of(0, 1, 2, 3, 4), indices);
+        assertEquals("QUEBROU", itens(response).get(2).getMensagem());
+    }
+
+    private static List<StatusItemLote<?>> itens(final Response response) {
+        Object entidade = response.getEntity();
+        if(entidade instanceof GenericEntity){
+            entidade = ((GenericEntity<?>) entidade).getEntity();
+        }
+        final List<StatusItemLote<?>> itens = new ArrayList<>();
+        for (final Object item : (List<?>) entidade) {
+            itens.add((StatusItemLote<?>) item);
+        }
+        return itens;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.container.ResourceInfo;
+
+import org.junit.jupiter.api.Test;
+
+public class AuthorizationFilterTest {
+
+    @Path("itens")
+    public static class ItensRS {
+        @GET
+        @Path("{id}")
+        @RecursoPublico
+        public String pegar() {return null;}
+
+        @GET
+        @Path("_stream")
+        public String exportar() {return null;}
+    }
+
+    private static ResourceInfo info(
+            final Class<?> resource, 
+            final String metodo) throws NoSuchMethodException {
+        
+        final Method resourceMethod = resource.getMethod(metodo);
+        
+        return new ResourceInfo() {
+            @Override
+            public Method getResourceMethod() {
+                return resourceMethod;
+            }
+            @Override
+            public Class<?> getResourceClass() {
+                return resource;
+            }
+        };
+    }
+
+    @Test
+    public void soOMetodoAnotadoEPublico() throws NoSuchMethodException {
+        assertTrue(
+            AuthorizationFilter.isAnotadoPublico(info(ItensRS.class,"pegar")));
+        assertFalse(
+            AuthorizationFilter.isAnotadoPublico(
+                info(ItensRS.class, "exportar")));
+    }
+
+    @Test
+    public void resourceAnotadoEPublicoEmTodosOsMetodos() 
+            throws NoSuchMethodException {
+        assertTrue(
+            AuthorizationFilter.isAnotadoPublico(info(PingRs.class, "ping")));
+    }
+
+    @Test
+    public void semResourceInfoNaoEPublico() {
+        assertFalse(AuthorizationFilter.isAnotadoPublico(null));
+    }
+}
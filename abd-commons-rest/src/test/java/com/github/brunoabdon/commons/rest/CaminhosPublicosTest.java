@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class CaminhosPublicosTest {
+
+    @Test
+    public void caminhoSemMetodosValeEmTodos() {
+        final CaminhosPublicos caminhos = new CaminhosPublicos();
+        caminhos.adicionarExato("status");
+        caminhos.adicionarPrefixo("docs");
+        
+        assertTrue(caminhos.isPublico("status", "POST"));
+        assertTrue(caminhos.isPublico("/status/", "POST"));
+        assertFalse(caminhos.isPublico("status/x", "GET"));
+        assertTrue(caminhos.isPublico("docs", "GET"));
+        assertTrue(caminhos.isPublico("docs/api/v1", "PUT"));
+        assertFalse(caminhos.isPublico("docsx", "GET"));
+        assertFalse(caminhos.isPublico("", "GET"));
+    }
+
+    @Test
+    public void metodosDoMesmoCaminhoSeSomam() {
+        final CaminhosPublicos caminhos = new CaminhosPublicos();
+        caminhos.adicionarExato("b", "GET");
+        caminhos.adicionarExato("b", "PUT");
+        caminhos.adicionarPrefixo("c", "GET");
+        
+        assertTrue(caminhos.isPublico("b", "GET"));
+        assertTrue(caminhos.isPublico("b", "PUT"));
+        assertFalse(caminhos.isPublico("b", "DELETE"));
+        assertTrue(caminhos.isPublico("c/1", "GET"));
+        assertFalse(caminhos.isPublico("c/1", "POST"));
+    }
+
+    @Test
+    public void chavesSaoLiterais() {
+        final CaminhosPublicos caminhos = new CaminhosPublicos();
+        caminhos.adicionarExato("itens/{id}", "GET");
+        
+        assertTrue(caminhos.isPublico("itens/{id}", "GET"));
+        assertFalse(caminhos.isPublico("itens/1", "GET"));
+        assertFalse(caminhos.isPublico("itens/_stream", "GET"));
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ChavesJsonTest {
+
+    private static List<String> chaves(final String json) {
+        return new ArrayList<>(
+            ChavesJson.de(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void soAsChavesDoPrimeiroNivel() {
+        assertEquals(
+            Arrays.asList("nome", "dono", "tags", "ativo", "nota", "obs"),
+            chaves(
+                "{\"nome\": \"a,b}\", \"dono\": {\"nome\": \"x\", \"id\": 1},"
+                + " \"tags\": [\"}\", {\"k\": []}], \"ativo\": true,"
+                + " \"nota\": -1.5e3, \"obs\": null}"));
+    }
+
+    @Test
+    public void objetoVazio() {
+        assertEquals(Collections.emptyList(), chaves(" { } "));
+    }
+
+    @Test
+    public void chaveEscapada() {
+        assertEquals(
+            Arrays.asList("nome", "a\"b"), 
+            chaves("{\"n\\u006fme\": 1, \"a\\\"b\": \"\\\"\"}"));
+    }
+
+    @Test
+    public void documentoQueNaoEObjeto() {
+        assertThrows(IllegalArgumentException.class, () -> chaves("[1]"));
+        assertThrows(IllegalArgumentException.class, () -> chaves("{\"a\""));
+        assertThrows(
+            IllegalArgumentException.class, () -> chaves("{\"a\": [1, 2"));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+public class DisjuntorTest {
+
+    @Test
+    public void abreQuandoAJanelaEncheComFalhasDemais() {
+        final Disjuntor disjuntor = 
+            new Disjuntor(0.5, 4, Duration.ofMinutes(1));
+        
+        disjuntor.registrar(true);
+        disjuntor.registrar(true);
+        disjuntor.registrar(true);
+        assertTrue(disjuntor.permitir());
+        
+        disjuntor.registrar(false);
+        assertFalse(disjuntor.permitir());
+    }
+
+    @Test
+    public void naoAbreComFalhasAbaixoDaTaxa() {
+        final Disjuntor disjuntor = 
+            new Disjuntor(0.5, 4, Duration.ofMinutes(1));
+        
+        for (int i = 0; i < 10; i++) {
+            disjuntor.registrar(i % 4 == 0);
+            assertTrue(disjuntor.permitir());
+        }
+    }
+
+    @Test
+    public void meioAbertoDeixaPassarUmaDeCadaVez() {
+        final Disjuntor disjuntor = new Disjuntor(0.5, 2, Duration.ZERO);
+        
+        disjuntor.registrar(true);
+        disjuntor.registrar(true);
+        
+        assertTrue(disjuntor.permitir());
+        assertFalse(disjuntor.permitir());
+        
+        disjuntor.registrar(false);
+        assertTrue(disjuntor.permitir());
+        assertTrue(disjuntor.permitir());
+    }
+
+    @Test
+    public void meioAbertoFalhandoReabre() throws InterruptedException {
+        final Disjuntor disjuntor = 
+            new Disjuntor(0.5, 2, Duration.ofMillis(200));
+        
+        disjuntor.registrar(true);
+        disjuntor.registrar(true);
+        assertFalse(disjuntor.permitir());
+        
+        Thread.sleep(250);
+        assertTrue(disjuntor.permitir());
+        
+        disjuntor.registrar(true);
+        assertFalse(disjuntor.permitir());
+        
+        Thread.sleep(250);
+        assertTrue(disjuntor.permitir());
+    }
+
+    @Test
+    public void fechaComAJanelaLimpa() {
+        final Disjuntor disjuntor = new Disjuntor(0.5, 2, Duration.ZERO);
+        
+        disjuntor.registrar(true);
+        disjuntor.registrar(true);
+        assertTrue(disjuntor.permitir());
+        disjuntor.registrar(false);
+        
+        disjuntor.registrar(true);
+        assertTrue(disjuntor.permitir());
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class LoginRSTest {
+
+    private static final Set<String> PROXIES = 
+        LoginRS.proxies("10.0.0.1, 10.0.0.2");
+
+    @Test
+    public void semProxyUsaOEnderecoDaConexao() {
+        assertEquals(
+            "200.1.1.1", 
+            LoginRS.client("200.1.1.1", "1.2.3.4", Collections.emptySet()));
+    }
+
+    @Test
+    public void ignoraForwardedForDeQuemNaoEhProxy() {
+        assertEquals(
+            "200.1.1.1", LoginRS.client("200.1.1.1", "1.2.3.4", PROXIES));
+    }
+
+    @Test
+    public void atrasDeProxyUsaOUltimoEnderecoQueNaoEhProxy() {
+        assertEquals(
+            "200.1.1.1", 
+            LoginRS.client(
+                "10.0.0.1", "1.2.3.4, 200.1.1.1, 10.0.0.2", PROXIES));
+    }
+
+    @Test
+    public void proxySemForwardedForEhOProprioClient() {
+        assertEquals("10.0.0.1", LoginRS.client("10.0.0.1", null, PROXIES));
+    }
+
+    @Test
+    public void semEnderecoDaConexaoNaoIdentifica() {
+        assertNull(LoginRS.client(null, "1.2.3.4", PROXIES));
+        assertNull(LoginRS.client("", null, PROXIES));
+    }
+}
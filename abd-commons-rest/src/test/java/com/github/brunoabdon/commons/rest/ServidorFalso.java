@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Response;
+
+/**
+ * Um servidor falso pros testes dos clients. Os {@link WebTarget}s que ele
+ * cria, feitos com {@link Proxy}, não fazem requisições: cada 
+ * {@link Pedido} é guardado e passado pra função que dá a resposta, na 
+ * própria thread que fez a requisição. Uma {@link ProcessingException} 
+ * levantada pela função é uma falha de comunicação; as outras exceções 
+ * são levantadas na hora, como um erro ao montar a requisição.
+ */
+class ServidorFalso {
+
+    /**
+     * Uma requisição recebida.
+     */
+    static class Pedido {
+        final String metodo;
+        final URI uri;
+        final Map<String,Object> cabecalhos;
+
+        private Pedido(
+                final String metodo, 
+                final URI uri, 
+                final Map<String,Object> cabecalhos) {
+            this.metodo = metodo;
+            this.uri = uri;
+            this.cabecalhos = cabecalhos;
+        }
+    }
+
+    /**
+     * Responde às chamadas de um proxy.
+     */
+    @FunctionalInterface
+    private interface Resposta {
+        Object responder(Object proxy, String metodo, Object[] args);
+    }
+
+    /**
+     * As requisições recebidas, na ordem.
+     */
+    final List<Pedido> pedidos = new CopyOnWriteArrayList<>();
+
+    private volatile Function<Pedido,Response> tratador = 
+        pedido -> Response.ok().build();
+
+    void responderCom(final Function<Pedido,Response> tratador) {
+        this.tratador = tratador;
+    }
+
+    WebTarget alvo(final String uri) {
+        return proxy(WebTarget.class, (p, metodo, args) -> {
+            switch (metodo) {
+                case "getUri":
+                    return URI.create(uri);
+                case "resolveTemplate":
+                    return alvo(
+                        uri.replace(
+                            "{" + args[0] + "}", String.valueOf(args[1])));
+                case "queryParam":
+                    final StringBuilder comParametros = new StringBuilder(uri);
+                    for (final Object valor : (Object[]) args[1]) {
+                        comParametros
+                            .append(comParametros.indexOf("?") < 0 ? '?' : '&')
+                            .append(args[0])
+                            .append('=')
+                            .append(valor);
+                    }
+                    return alvo(comParametros.toString());
+                case "request":
+                    return builder(URI.create(uri));
+                default:
+                    throw new UnsupportedOperationException(metodo);
+            }
+        });
+    }
+
+    private Invocation.Builder builder(final URI uri) {
+        final Map<String,Object> cabecalhos = new HashMap<>();
+        return proxy(Invocation.Builder.class, (p, metodo, args) -> {
+            switch (metodo) {
+                case "accept":
+                    return p;
+                case "header":
+                    cabecalhos.put((String) args[0], args[1]);
+                    return p;
+                case "buildGet":
+                    return invocation(new Pedido("GET", uri, cabecalhos));
+                case "buildPost":
+                    return invocation(new Pedido("POST", uri, cabecalhos));
+                case "buildDelete":
+                    return invocation(new Pedido("DELETE", uri, cabecalhos));
+                default:
+                    throw new UnsupportedOperationException(metodo);
+            }
+        });
+    }
+
+    private Invocation invocation(final Pedido pedido) {
+        return proxy(Invocation.class, (p, metodo, args) -> {
+            if(metodo.equals("invoke") && args == null){
+                return responder(pedido);
+            }
+            if(!metodo.equals("submit")){
+                throw new UnsupportedOperationException(metodo);
+            }
+            
+            Response response = null;
+            ProcessingException falha = null;
+            try {
+                response = responder(pedido);
+            } catch (final ProcessingException e) {
+                falha = e;
+            }
+            
+            if(args != null){
+                @SuppressWarnings("unchecked")
+                final InvocationCallback<Response> callback = 
+                    (InvocationCallback<Response>) args[0];
+                if(falha == null){
+                    callback.completed(response);
+                } else {
+                    callback.failed(falha);
+                }
+            }
+            
+            return falha == null 
+                    ? CompletableFuture.completedFuture(response)
+                    : CompletableFuture.failedFuture(falha);
+        });
+    }
+
+    private Response responder(final Pedido pedido) {
+        pedidos.add(pedido);
+        return tratador.apply(pedido);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(final Class<?> tipo, final Resposta resposta) {
+        return (T) Proxy.newProxyInstance(
+            ServidorFalso.class.getClassLoader(), 
+            new Class<?>[]{tipo}, 
+            (proxy, metodo, args) -> {
+                if(metodo.getDeclaringClass() == Object.class){
+                    switch (metodo.getName()) {
+                        case "equals": 
+                            return proxy == args[0];
+                        case "hashCode": 
+                            return System.identityHashCode(proxy);
+                        default: 
+                            return tipo.getSimpleName() + " falso";
+                    }
+                }
+                return resposta.responder(proxy, metodo.getName(), args);
+            });
+    }
+}
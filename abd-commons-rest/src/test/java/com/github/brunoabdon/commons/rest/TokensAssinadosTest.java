@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.rest;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+public class TokensAssinadosTest {
+
+    private static TokensAssinados tokens(final int tamanhoMaximoRevogados) {
+        return new TokensAssinados(
+            Collections.singletonMap(
+                "k1", "segredo-de-teste".getBytes(StandardCharsets.UTF_8)),
+            "k1",
+            Duration.ofHours(1),
+            tamanhoMaximoRevogados);
+    }
+
+    @Test
+    public void tokenEmitidoVale() {
+        final TokensAssinados tokens = tokens(10);
+        
+        assertTrue(tokens.isValido(tokens.emitir()));
+    }
+
+    @Test
+    public void tokenAlteradoNaoVale() {
+        final TokensAssinados tokens = tokens(10);
+        
+        final String token = tokens.emitir();
+        
+        assertFalse(tokens.isValido(token + "x"));
+        assertFalse(tokens.isValido("k2" + token.substring(2)));
+        assertFalse(tokens.isValido(null));
+    }
+
+    @Test
+    public void tokenRevogadoNaoVale() {
+        final TokensAssinados tokens = tokens(10);
+        
+        final String token = tokens.emitir();
+        tokens.remover(token);
+        
+        assertFalse(tokens.isValido(token));
+    }
+
+    @Test
+    public void listaCheiaRecusaRevogacaoSemSoltarOsRevogados() {
+        final TokensAssinados tokens = tokens(2);
+        
+        final String primeiro = tokens.emitir();
+        final String segundo = tokens.emitir();
+        final String terceiro = tokens.emitir();
+        
+        tokens.remover(primeiro);
+        tokens.remover(segundo);
+        
+        assertThrows(
+            IllegalStateException.class, () -> tokens.remover(terceiro));
+        
+        assertFalse(tokens.isValido(primeiro));
+        assertFalse(tokens.isValido(segundo));
+        assertTrue(tokens.isValido(terceiro));
+    }
+
+    @Test
+    public void revogarDeNovoNaoOcupaEspaco() {
+        final TokensAssinados tokens = tokens(1);
+        
+        final String token = tokens.emitir();
+        
+        tokens.remover(token);
+        tokens.remover(token);
+        
+        assertFalse(tokens.isValido(token));
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.util.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Um cache em memória, seguro pra uso concorrente, com tamanho máximo e 
+ * tempo de vida dos elementos.
+ * 
+ * <p>Os elementos são distribuídos em segmentos independentes, cada um com
+ * seu próprio lock e sua fração do tamanho máximo. Quando um segmento 
+ * enche, sai o elemento dele usado há mais tempo. Elementos expirados saem
+ * quando são buscados.</p>
+ * 
+ * @author Bruno Abdon
+ * @param <K> o tipo da chave dos elementos
+ * @param <V> o tipo dos elementos
+ */
+public class CacheLimitado<K,V> {
+
+    private static final int QUANTIDADE_SEGMENTOS = 16;
+    
+    private final Segmento<K,V>[] segmentos;
+    
+    private final long ttlNanos;
+    
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+
+    private static class Entrada<V> {
+        private final V valor;
+        private final long expiracao;
+
+        private Entrada(final V valor, final long expiracao) {
+            this.valor = valor;
+            this.expiracao = expiracao;
+        }
+    }
+
+    private static class Segmento<K,V> extends LinkedHashMap<K,Entrada<V>> {
+
+        private static final long serialVersionUID = 1L;
+        
+        private final int tamanhoMaximo;
+        private final LongAdder remocoes;
+
+        private Segmento(final int tamanhoMaximo, final LongAdder remocoes) {
+            super(16, 0.75f, true);
+            this.tamanhoMaximo = tamanhoMaximo;
+            this.remocoes = remocoes;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(
+                final Map.Entry<K,Entrada<V>> eldest) {
+            final boolean remover = size() > tamanhoMaximo;
+            if(remover){
+                remocoes.increment();
+            }
+            return remover;
+        }
+    }
+    
+    /**
+     * Cria um cache.
+     * 
+     * @param tamanhoMaximo a quantidade máxima (aproximada) de elementos.
+     * @param ttl quanto tempo um elemento fica no cache depois de inserido.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CacheLimitado(final int tamanhoMaximo, final Duration ttl) {
+        
+        if(tamanhoMaximo < 1){
+            throw new IllegalArgumentException("tamanhoMaximo " + tamanhoMaximo);
+        }
+        
+        final int quantidadeSegmentos = 
+            Math.min(QUANTIDADE_SEGMENTOS, tamanhoMaximo);
+        
+        final int tamanhoSegmento = 
+            (tamanhoMaximo + quantidadeSegmentos - 1) / quantidadeSegmentos;
+        
+        this.segmentos = new Segmento[quantidadeSegmentos];
+        for (int i = 0; i < quantidadeSegmentos; i++) {
+            segmentos[i] = new Segmento<>(tamanhoSegmento, remocoes);
+        }
+        
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Busca um elemento no cache.
+     * 
+     * @param chave a chave do elemento.
+     * @return o elemento, ou {@code null} se ele não estiver no cache ou 
+     * tiver expirado.
+     */
+    public V get(final K chave) {
+        
+        final Segmento<K,V> segmento = segmento(chave);
+        
+        final Entrada<V> entrada;
+        synchronized (segmento) {
+            entrada = segmento.get(chave);
+            if(entrada != null && expirou(entrada)){
+                segmento.remove(chave);
+                remocoes.increment();
+                faltas.increment();
+                return null;
+            }
+        }
+        
+        if(entrada == null){
+            faltas.increment();
+            return null;
+        }
+        
+        acertos.increment();
+        return entrada.valor;
+    }
+
+    public void put(final K chave, final V valor) {
+        
+        final Entrada<V> entrada = 
+            new Entrada<>(valor, System.nanoTime() + ttlNanos);
+        
+        final Segmento<K,V> segmento = segmento(chave);
+        synchronized (segmento) {
+            segmento.put(chave, entrada);
+        }
+    }
+
+    public void invalidate(final K chave) {
+        final Segmento<K,V> segmento = segmento(chave);
+        synchronized (segmento) {
+            segmento.remove(chave);
+        }
+    }
+
+    public void invalidateAll() {
+        for (final Segmento<K,V> segmento : segmentos) {
+            synchronized (segmento) {
+                segmento.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (final Segmento<K,V> segmento : segmentos) {
+            synchronized (segmento) {
+                size += segmento.size();
+            }
+        }
+        return size;
+    }
+
+    public EstatisticasCache getEstatisticas() {
+        return new EstatisticasCache(
+                acertos.sum(), faltas.sum(), remocoes.sum(), size());
+    }
+
+    private boolean expirou(final Entrada<V> entrada) {
+        return System.nanoTime() - entrada.expiracao > 0;
+    }
+
+    private Segmento<K,V> segmento(final K chave) {
+        final int h = chave.hashCode();
+        return segmentos[((h ^ (h >>> 16)) & 0x7fffffff) % segmentos.length];
+    }
+}
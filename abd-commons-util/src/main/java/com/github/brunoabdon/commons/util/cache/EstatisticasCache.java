@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.util.cache;
+
+/**
+ * Os números de uso de um {@link CacheLimitado} num dado momento.
+ * 
+ * @author Bruno Abdon
+ */
+public class EstatisticasCache {
+
+    private final long acertos;
+    private final long faltas;
+    private final long remocoes;
+    private final int tamanho;
+
+    public EstatisticasCache(
+            final long acertos, 
+            final long faltas, 
+            final long remocoes,
+            final int tamanho) {
+        this.acertos = acertos;
+        this.faltas = faltas;
+        this.remocoes = remocoes;
+        this.tamanho = tamanho;
+    }
+
+    /**
+     * @return quantas buscas encontraram o elemento no cache.
+     */
+    public long getAcertos() {
+        return acertos;
+    }
+
+    /**
+     * @return quantas buscas não encontraram o elemento no cache.
+     */
+    public long getFaltas() {
+        return faltas;
+    }
+
+    /**
+     * @return quantos elementos saíram do cache por falta de espaço ou por 
+     * expiração (invalidações explícitas não contam).
+     */
+    public long getRemocoes() {
+        return remocoes;
+    }
+
+    /**
+     * @return quantos elementos estavam no cache.
+     */
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * @return a fração das buscas que encontrou o elemento no cache, entre 0
+     * e 1.
+     */
+    public double getTaxaAcerto() {
+        final long buscas = acertos + faltas;
+        return buscas == 0 ? 0 : (double) acertos / buscas;
+    }
+
+    @Override
+    public String toString() {
+        return "acertos=" + acertos 
+                + ", faltas=" + faltas 
+                + ", remocoes=" + remocoes
+                + ", tamanho=" + tamanho;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.util.metricas;
+
+import java.util.ServiceLoader;
+
+/**
+ * Onde as operações dos daos e resources registram quanto tempo levaram e 
+ * como terminaram, pra que a aplicação mande esses números pro sistema de 
+ * métricas que usar (Micrometer, por exemplo: um {@code Timer} com as tags 
+ * {@code entidade} e {@code resultado} por operação já dá a contagem e os 
+ * percentis).
+ * 
+ * <p>A implementação usada é a {@link #instalar(Metricas) instalada} ou, 
+ * se nenhuma for, a primeira achada pelo {@link ServiceLoader} (declarada em 
+ * {@code META-INF/services/com.github.brunoabdon.commons.util.metricas.Metricas}).
+ * Sem nenhuma, fica {@link #NENHUMA}, que não faz nada.</p>
+ * 
+ * <p>As implementações são chamadas por várias threads ao mesmo tempo e 
+ * devem ser rápidas: o registro acontece dentro da operação medida.</p>
+ * 
+ * @author Bruno Abdon
+ */
+@FunctionalInterface
+public interface Metricas {
+
+    /**
+     * A operação terminou bem.
+     */
+    public static final String OK = "ok";
+    
+    /**
+     * A entidade procurada não existe.
+     */
+    public static final String NAO_ENCONTRADO = "not-found";
+    
+    /**
+     * A operação foi recusada por um conflito com o estado da entidade (um 
+     * {@code 409}, ou uma {@code DalException} num dao).
+     */
+    public static final String CONFLITO = "conflict";
+    
+    /**
+     * A resposta foi um {@code 304 Not Modified}.
+     */
+    public static final String NAO_MODIFICADO = "304";
+    
+    /**
+     * A operação falhou por um erro inesperado.
+     */
+    public static final String ERRO = "erro";
+    
+    /**
+     * Não registra nada.
+     */
+    public static final Metricas NENHUMA = (op, entidade, res, nanos) -> {};
+    
+    /**
+     * Registra uma execução de uma operação.
+     * 
+     * @param operacao o nome da operação ({@code find}, {@code pegar}, 
+     * {@code criar}...).
+     * @param entidade o nome do tipo da entidade.
+     * @param resultado como a operação terminou: {@link #OK}, 
+     * {@link #NAO_ENCONTRADO}, {@link #CONFLITO}, {@link #NAO_MODIFICADO}, 
+     * {@link #ERRO} ou, nos resources, o código HTTP da resposta.
+     * @param duracaoNanos quanto tempo a operação levou, em nanossegundos.
+     */
+    public void registrar(
+        String operacao, 
+        String entidade, 
+        String resultado, 
+        long duracaoNanos);
+
+    /**
+     * @return as métricas {@link #instalar(Metricas) instaladas}.
+     */
+    public static Metricas getInstalada() {
+        return MetricasInstaladas.get();
+    }
+
+    /**
+     * Define as métricas usadas daqui pra frente pelos daos e resources que 
+     * não sobrescrevem a sua.
+     * 
+     * @param metricas as métricas, ou {@code null} pra não registrar nada.
+     */
+    public static void instalar(final Metricas metricas) {
+        MetricasInstaladas.set(metricas == null ? NENHUMA : metricas);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2026 Bruno Abdon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.brunoabdon.commons.util.metricas;
+
+import java.util.ServiceLoader;
+
+/**
+ * Guarda as {@link Metricas} em uso, carregadas na primeira vez que forem 
+ * pedidas.
+ * 
+ * @author Bruno Abdon
+ */
+final class MetricasInstaladas {
+
+    private static volatile Metricas metricas;
+
+    private MetricasInstaladas() {
+    }
+
+    static Metricas get() {
+        final Metricas instaladas = metricas;
+        return instaladas == null ? carregar() : instaladas;
+    }
+
+    private static synchronized Metricas carregar() {
+        if(metricas == null){
+            metricas = 
+                ServiceLoader
+                    .load(Metricas.class)
+                    .findFirst()
+                    .orElse(Metricas.NENHUMA);
+        }
+        return metricas;
+    }
+
+    static synchronized void set(final Metricas metricas) {
+        MetricasInstaladas.metricas = metricas;
+    }
+}